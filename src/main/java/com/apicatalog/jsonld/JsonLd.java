@@ -12,6 +12,7 @@ import com.apicatalog.jsonld.api.impl.FlatteningApi;
 import com.apicatalog.jsonld.api.impl.FramingApi;
 import com.apicatalog.jsonld.api.impl.FromRdfApi;
 import com.apicatalog.jsonld.api.impl.ToRdfApi;
+import com.apicatalog.jsonld.context.PreparedContext;
 import com.apicatalog.jsonld.document.Document;
 import com.apicatalog.jsonld.uri.UriUtils;
 import com.apicatalog.rdf.RdfDataset;
@@ -148,6 +149,51 @@ public final class JsonLd {
         return new CompactionApi(document, context);
     }
 
+    /**
+     * Compacts the referenced document using the prepared context.
+     * 
+     * @param documentLocation {@code IRI} referencing JSON-LD document to compact
+     * @param context {@link PreparedContext} to use when compacting the document
+     * @return {@link CompactionApi} allowing to set additional parameters 
+     */
+    public static final CompactionApi compact(final String documentLocation, final PreparedContext context) {
+        
+        assertLocation(documentLocation, DOCUMENT_LOCATION_PARAM_NAME);
+        assertNotNull(context, CONTEXT_PARAM_NAME);
+        
+        return new CompactionApi(UriUtils.create(documentLocation), context);
+    }
+
+    /**
+     * Compacts the referenced document using the prepared context.
+     * 
+     * @param documentUri {@code URI} referencing JSON-LD document to compact
+     * @param context {@link PreparedContext} to use when compacting the document
+     * @return {@link CompactionApi} allowing to set additional parameters 
+     */
+    public static final CompactionApi compact(final URI documentUri, final PreparedContext context) {
+        
+        assertUri(documentUri, DOCUMENT_URI_PARAM_NAME);
+        assertNotNull(context, CONTEXT_PARAM_NAME);
+        
+        return new CompactionApi(documentUri, context);
+    }
+
+    /**
+     * Compacts {@link Document} document using the prepared context.
+     * 
+     * @param document to compact
+     * @param context {@link PreparedContext} to use when compacting the document
+     * @return {@link CompactionApi} allowing to set additional parameters 
+     */
+    public static final CompactionApi compact(final Document document, final PreparedContext context) {
+        
+        assertJsonDocument(document, DOCUMENT_PARAM_NAME);
+        assertNotNull(context, CONTEXT_PARAM_NAME);
+        
+        return new CompactionApi(document, context);
+    }
+
     /**
      * Flattens the given input and optionally compacts it using context.
      * 
@@ -1,10 +1,15 @@
 package com.apicatalog.jsonld.api;
 
 import java.net.URI;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.json.Json;
 import javax.json.JsonObject;
 
+import com.apicatalog.jsonld.cache.Cache;
+import com.apicatalog.jsonld.context.ActiveContext;
+import com.apicatalog.jsonld.context.ContextCacheKey;
 import com.apicatalog.jsonld.document.Document;
 import com.apicatalog.jsonld.document.JsonDocument;
 import com.apicatalog.jsonld.lang.Version;
@@ -72,6 +77,18 @@ public final class JsonLdOptions {
     
     private boolean useRdfType;
     
+    // Titanium extensions
+    
+    private boolean prefetchContexts;
+    
+    private Cache<ContextCacheKey, ActiveContext> contextCache;
+    
+    private Executor contextExecutor;
+    
+    private ForkJoinPool parallelPool;
+    
+    private int parallelThreshold;
+    
     // Framing https://www.w3.org/TR/json-ld11-framing/#jsonldoptions
     
     private JsonLdEmbed embed;
@@ -104,6 +121,13 @@ public final class JsonLdOptions {
         this.useNativeTypes = false;
         this.useRdfType = false;
         
+        // extension defaults
+        this.prefetchContexts = false;
+        this.contextCache = null;
+        this.contextExecutor = null;
+        this.parallelPool = null;
+        this.parallelThreshold = 64;
+        
         // framing defaults
         this.embed = JsonLdEmbed.ONCE;
         this.explicit = false;
@@ -126,6 +150,13 @@ public final class JsonLdOptions {
         this.useNativeTypes = options.useNativeTypes;
         this.useRdfType = options.useRdfType;
         
+        // extensions
+        this.prefetchContexts = options.prefetchContexts;
+        this.contextCache = options.contextCache;
+        this.contextExecutor = options.contextExecutor;
+        this.parallelPool = options.parallelPool;
+        this.parallelThreshold = options.parallelThreshold;
+        
         // framing
         this.embed = options.embed;
         this.explicit = options.explicit;
@@ -293,6 +324,97 @@ public final class JsonLdOptions {
         this.expandContext = context;
     }
     
+    // Extensions
+    
+    /**
+     * If set to <code>true</code>, remote contexts referenced by an input document 
+     * are collected and loaded at once, before the document is expanded. 
+     * <p>
+     * Only context positions are followed, i.e. <code>@context</code> entries, <code>@import</code> 
+     * and scoped contexts. Values of <code>@value</code> entries and of terms defined 
+     * with <code>"@type": "@json"</code> are JSON literals and are never fetched from.
+     * </p>
+     * 
+     * @return <code>true</code> if remote contexts are prefetched
+     */
+    public boolean isPrefetchContexts() {
+        return prefetchContexts;
+    }
+    
+    public void setPrefetchContexts(boolean prefetchContexts) {
+        this.prefetchContexts = prefetchContexts;
+    }
+
+    /**
+     * A cache of processed contexts. If set, the result of the context processing 
+     * algorithm is reused when the same local context is processed again on top of 
+     * the same active context, e.g. when documents sharing a context are processed.
+     * <p>
+     * Remote contexts are expected to be stable while cached. 
+     * </p>
+     * 
+     * @return a cache of processed contexts or <code>null</code> if contexts are not cached
+     */
+    public Cache<ContextCacheKey, ActiveContext> getContextCache() {
+        return contextCache;
+    }
+    
+    public void setContextCache(Cache<ContextCacheKey, ActiveContext> contextCache) {
+        this.contextCache = contextCache;
+    }
+
+    /**
+     * An executor used to load remote contexts referenced by a local context 
+     * concurrently, e.g. an array of context IRIs. The loaded contexts are 
+     * processed in order. If not set, remote contexts are loaded one by one.
+     * 
+     * @return an executor or <code>null</code> if remote contexts are loaded sequentially
+     */
+    public Executor getContextExecutor() {
+        return contextExecutor;
+    }
+
+    public void setContextExecutor(Executor contextExecutor) {
+        this.contextExecutor = contextExecutor;
+    }
+
+    /**
+     * A pool used to expand and to compact items of large arrays in parallel, e.g. members 
+     * of a top-level array or a <code>@graph</code>. The processed items keep the original order. 
+     * If not set, arrays are processed sequentially.
+     * <p>
+     * Scoped contexts are processed by the workers, a document loader and a context
+     * cache must be thread-safe if the pool is set.
+     * </p>
+     * 
+     * @return a pool or <code>null</code> if arrays are processed sequentially
+     */
+    public ForkJoinPool getParallelPool() {
+        return parallelPool;
+    }
+
+    public void setParallelPool(ForkJoinPool parallelPool) {
+        this.parallelPool = parallelPool;
+    }
+
+    /**
+     * The minimal number of array items processed in parallel when a parallel pool is set.
+     * 
+     * @return the minimal number of items, <code>64</code> by default
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public void setParallelThreshold(int parallelThreshold) {
+        
+        if (parallelThreshold < 2) {
+            throw new IllegalArgumentException("The threshold must be greater than one but was [" + parallelThreshold + "].");
+        }
+        
+        this.parallelThreshold = parallelThreshold;
+    }
+    
     // Framing
     
     public JsonLdEmbed getEmbed() {
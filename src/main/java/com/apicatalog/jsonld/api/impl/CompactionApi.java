@@ -3,9 +3,11 @@ package com.apicatalog.jsonld.api.impl;
 import java.net.URI;
 
 import javax.json.JsonObject;
+import javax.json.stream.JsonGenerator;
 
 import com.apicatalog.jsonld.api.JsonLdError;
 import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.context.PreparedContext;
 import com.apicatalog.jsonld.document.Document;
 import com.apicatalog.jsonld.lang.Version;
 import com.apicatalog.jsonld.loader.DocumentLoader;
@@ -19,6 +21,7 @@ public final class CompactionApi implements CommonApi<CompactionApi>, LoaderApi<
     private final URI documentUri;
     private final Document context;
     private final URI contextUri;
+    private final PreparedContext preparedContext;
     
     // optional
     private JsonLdOptions options;
@@ -28,6 +31,7 @@ public final class CompactionApi implements CommonApi<CompactionApi>, LoaderApi<
         this.documentUri = documentUri;
         this.context = context;
         this.contextUri = null;
+        this.preparedContext = null;
         this.options = new JsonLdOptions();
     }
 
@@ -36,6 +40,7 @@ public final class CompactionApi implements CommonApi<CompactionApi>, LoaderApi<
         this.documentUri = documentUri;
         this.context = null;
         this.contextUri = contextUri;
+        this.preparedContext = null;
         this.options = new JsonLdOptions();
     }
 
@@ -44,6 +49,25 @@ public final class CompactionApi implements CommonApi<CompactionApi>, LoaderApi<
         this.documentUri = null;
         this.context = context;
         this.contextUri = null;
+        this.preparedContext = null;
+        this.options = new JsonLdOptions();
+    }
+
+    public CompactionApi(URI documentUri, PreparedContext context) {
+        this.document = null;
+        this.documentUri = documentUri;
+        this.context = null;
+        this.contextUri = null;
+        this.preparedContext = context;
+        this.options = new JsonLdOptions();
+    }
+
+    public CompactionApi(Document document, PreparedContext context) {
+        this.document = document;
+        this.documentUri = null;
+        this.context = null;
+        this.contextUri = null;
+        this.preparedContext = context;
         this.options = new JsonLdOptions();
     }
 
@@ -152,6 +176,43 @@ public final class CompactionApi implements CommonApi<CompactionApi>, LoaderApi<
         if (document != null && context != null)  {
             return CompactionProcessor.compact(document, context, options);
         }
+        if (documentUri != null && preparedContext != null)  {
+            return CompactionProcessor.compact(documentUri, preparedContext, options);
+        }
+        if (document != null && preparedContext != null)  {
+            return CompactionProcessor.compact(document, preparedContext, options);
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Write the result of compaction to the given generator. Compacted nodes are
+     * written as soon as they are compacted, the generator is not closed.
+     * 
+     * @param output the generator to write the compacted document to 
+     * @throws JsonLdError
+     */
+    public void writeTo(JsonGenerator output) throws JsonLdError {
+        if (documentUri != null && contextUri != null)  {
+            CompactionProcessor.compact(documentUri, contextUri, options, output);
+            return;
+        }        
+        if (documentUri != null && context != null)  {
+            CompactionProcessor.compact(documentUri, context, options, output);
+            return;
+        }
+        if (document != null && context != null)  {
+            CompactionProcessor.compact(document, context, options, output);
+            return;
+        }
+        if (documentUri != null && preparedContext != null)  {
+            CompactionProcessor.compact(documentUri, preparedContext, options, output);
+            return;
+        }
+        if (document != null && preparedContext != null)  {
+            CompactionProcessor.compact(document, preparedContext, options, output);
+            return;
+        }
         throw new IllegalStateException();
     }
 }
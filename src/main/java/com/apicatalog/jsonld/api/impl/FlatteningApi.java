@@ -6,6 +6,7 @@ import javax.json.JsonStructure;
 
 import com.apicatalog.jsonld.api.JsonLdError;
 import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.context.PreparedContext;
 import com.apicatalog.jsonld.document.Document;
 import com.apicatalog.jsonld.document.JsonDocument;
 import com.apicatalog.jsonld.lang.Version;
@@ -22,6 +23,7 @@ public final class FlatteningApi implements CommonApi<FlatteningApi>, LoaderApi<
     // optional
     private Document context;
     private URI contextUri;
+    private PreparedContext preparedContext;
     private JsonLdOptions options;
     
     public FlatteningApi(URI documentUri) {
@@ -29,6 +31,7 @@ public final class FlatteningApi implements CommonApi<FlatteningApi>, LoaderApi<
         this.documentUri = documentUri;
         this.context = null;
         this.contextUri = null;
+        this.preparedContext = null;
         this.options = new JsonLdOptions();
     }
 
@@ -37,6 +40,7 @@ public final class FlatteningApi implements CommonApi<FlatteningApi>, LoaderApi<
         this.documentUri = null;
         this.context = null;
         this.contextUri = null;
+        this.preparedContext = null;
         this.options = new JsonLdOptions();
     }
 
@@ -127,6 +131,17 @@ public final class FlatteningApi implements CommonApi<FlatteningApi>, LoaderApi<
         return this;
     }
 
+    /**
+     * A prepared context used to compact the flattened document.
+     * 
+     * @param context {@link PreparedContext} to use when compacting the flattened document 
+     * @return builder instance 
+     */
+    public FlatteningApi context(PreparedContext context) {
+        this.preparedContext = context;
+        return this;
+    }
+
     /**
      * Get the result of flattening.
      * 
@@ -135,6 +150,14 @@ public final class FlatteningApi implements CommonApi<FlatteningApi>, LoaderApi<
      */
     public JsonStructure get() throws JsonLdError {
 
+        if (document != null && preparedContext != null) {
+            return FlatteningProcessor.flatten(document, preparedContext, options);
+        }
+
+        if (documentUri != null && preparedContext != null) {
+            return FlatteningProcessor.flatten(documentUri, preparedContext, options);
+        }
+
         if (document != null && context != null) {
             return FlatteningProcessor.flatten(document, context, options);
         }
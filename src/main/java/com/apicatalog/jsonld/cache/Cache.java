@@ -0,0 +1,30 @@
+package com.apicatalog.jsonld.cache;
+
+/**
+ * A bounded cache used to keep processing results, e.g. loaded documents,
+ * between subsequent invocations.
+ * 
+ * Implementations must be safe to share across threads.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public interface Cache<K, V> {
+
+    /**
+     * Get a cached value.
+     * 
+     * @param key a key, must not be <code>null</code>
+     * @return cached value or <code>null</code> if there is no such key
+     */
+    V get(K key);
+
+    void put(K key, V value);
+    
+    void remove(K key);
+
+    void clear();
+    
+    long size();
+
+}
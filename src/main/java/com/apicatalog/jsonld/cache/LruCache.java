@@ -0,0 +1,64 @@
+package com.apicatalog.jsonld.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link Cache} evicting the least recently used entries when the capacity is exceeded.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class LruCache<K, V> implements Cache<K, V> {
+
+    private final Map<K, V> cache;
+    
+    private final int capacity;
+    
+    public LruCache(final int capacity) {
+        
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be greater than zero but was [" + capacity + "].");
+        }
+        
+        this.capacity = capacity;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 4822962879473741809L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.capacity;
+            }
+        };
+    }
+    
+    @Override
+    public synchronized V get(final K key) {
+        return cache.get(key);
+    }
+
+    @Override
+    public synchronized void put(final K key, final V value) {
+        cache.put(key, value);
+    }
+
+    @Override
+    public synchronized void remove(final K key) {
+        cache.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public synchronized long size() {
+        return cache.size();
+    }
+    
+    public int capacity() {
+        return capacity;
+    }
+}
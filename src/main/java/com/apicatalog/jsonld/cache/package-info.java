@@ -0,0 +1,5 @@
+/**
+ * Caches shared by the processor components.
+ *  
+ */
+package com.apicatalog.jsonld.cache;
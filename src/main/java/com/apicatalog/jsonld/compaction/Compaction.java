@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.json.Json;
 import javax.json.JsonArray;
@@ -22,7 +23,9 @@ import com.apicatalog.jsonld.api.JsonLdError;
 import com.apicatalog.jsonld.api.JsonLdErrorCode;
 import com.apicatalog.jsonld.context.ActiveContext;
 import com.apicatalog.jsonld.context.TermDefinition;
+import com.apicatalog.jsonld.json.JsonMapBuilder;
 import com.apicatalog.jsonld.json.JsonUtils;
+import com.apicatalog.jsonld.json.ParallelArrays;
 import com.apicatalog.jsonld.lang.GraphObject;
 import com.apicatalog.jsonld.lang.Keywords;
 import com.apicatalog.jsonld.lang.ListObject;
@@ -87,18 +90,38 @@ public final class Compaction {
             // 3.1.
             final JsonArrayBuilder resultBuilder = Json.createArrayBuilder();
 
-            // 3.2.
-            for (final JsonValue item : element.asJsonArray()) {
-                
-                // 3.2.1.
-                final JsonValue compactedItem = Compaction
-                                                    .with(activeContext)
-                                                    .compactArrays(compactArrays)
-                                                    .ordered(ordered)
-                                                    .compact(activeProperty, item);
-                // 3.2.2.                
-                if (JsonUtils.isNotNull(compactedItem)) {
-                    resultBuilder.add(compactedItem);
+            final ForkJoinPool pool = activeContext.getOptions().getParallelPool();
+
+            if (pool != null && element.asJsonArray().size() >= activeContext.getOptions().getParallelThreshold()) {
+
+                final JsonArray items = element.asJsonArray();
+
+                // shared by all workers, created in advance
+                if (context.getInverseContext() == null) {
+                    context.createInverseContext();
+                }
+
+                // 3.2.1. in parallel, the compacted items keep the original order
+                for (final JsonValue compactedItem : ParallelArrays.map(pool, items.size(), index -> compactItem(activeProperty, items.get(index)))) {
+
+                    // 3.2.2.
+                    if (JsonUtils.isNotNull(compactedItem)) {
+                        resultBuilder.add(compactedItem);
+                    }
+                }
+
+            } else {
+
+                // 3.2.
+                for (final JsonValue item : element.asJsonArray()) {
+                    
+                    // 3.2.1.
+                    final JsonValue compactedItem = compactItem(activeProperty, item);
+
+                    // 3.2.2.                
+                    if (JsonUtils.isNotNull(compactedItem)) {
+                        resultBuilder.add(compactedItem);
+                    }
                 }
             }
             
@@ -180,7 +203,7 @@ public final class Compaction {
         final boolean insideReverse = Keywords.REVERSE.equals(activeProperty);
         
         // 10.
-        final Map<String, JsonValue> result = new LinkedHashMap<>();
+        final JsonMapBuilder result = JsonMapBuilder.create();
 
         // 11.
         if (elementObject.containsKey(Keywords.TYPE)) {
@@ -282,7 +305,7 @@ public final class Compaction {
                                            );
 
                 // 12.2.5.
-                JsonUtils.addValue(result, alias, compactedValue, asArray);
+                result.add(alias, compactedValue, asArray);
 
                 // 12.2.6.
                 continue;                
@@ -314,7 +337,7 @@ public final class Compaction {
                                                         .orElse(false);
 
                         // 12.3.2.1.2.
-                        JsonUtils.addValue(result, entry.getKey(), entry.getValue(), asArray);
+                        result.add(entry.getKey(), entry.getValue(), asArray);
                         
                         // 12.3.2.1.3.
                         compactedMap.remove(entry.getKey());
@@ -399,22 +422,12 @@ public final class Compaction {
                         throw new JsonLdError(JsonLdErrorCode.INVALID_KEYWORD_NEST_VALUE);
                     }
                     
-                    // 12.7.2.2.
-                    if (!result.containsKey(nestTerm)) {
-                        result.put(nestTerm, JsonValue.EMPTY_JSON_OBJECT);
-                    }                    
-
-                    // 12.7.2.3.
-                    Map<String, JsonValue> nestResult = new LinkedHashMap<>(result.get(nestTerm).asJsonObject());
-                    String nestResultKey = nestTerm;
-                    
-                    JsonUtils.addValue(nestResult, itemActiveProperty, JsonValue.EMPTY_JSON_ARRAY, true);
-                    result.put(nestResultKey, JsonUtils.toJsonObject(nestResult));
+                    // 12.7.2.2., 12.7.2.3.
+                    result.getMapBuilder(nestTerm).add(itemActiveProperty, JsonValue.EMPTY_JSON_ARRAY, true);
 
                 // 12.7.3.                    
                 } else {
-                    Map<String, JsonValue> nestResult = result;
-                    JsonUtils.addValue(nestResult, itemActiveProperty, JsonValue.EMPTY_JSON_ARRAY, true);
+                    result.add(itemActiveProperty, JsonValue.EMPTY_JSON_ARRAY, true);
                 }
 
             }
@@ -430,8 +443,7 @@ public final class Compaction {
                                                 .reverse(insideReverse)
                                                 .compact(expandedProperty);
 
-                Map<String, JsonValue> nestResult = null;
-                String nestResultKey = null;
+                final JsonMapBuilder nestResult;
 
                 // 12.8.2.
                 if (activeContext.getTerm(itemActiveProperty).map(TermDefinition::getNestValue).isPresent()) {
@@ -446,14 +458,8 @@ public final class Compaction {
                         throw new JsonLdError(JsonLdErrorCode.INVALID_KEYWORD_NEST_VALUE);
                     }
                     
-                    // 12.8.2.2.
-                    if (!result.containsKey(nestTerm)) {
-                        result.put(nestTerm, JsonValue.EMPTY_JSON_OBJECT);
-                    }
-
-                    // 12.8.2.3.
-                    nestResult = new LinkedHashMap<>(result.get(nestTerm).asJsonObject());
-                    nestResultKey = nestTerm;
+                    // 12.8.2.2., 12.8.2.3.
+                    nestResult = result.getMapBuilder(nestTerm);
 
                 // 12.8.3.                    
                 } else {
@@ -514,7 +520,7 @@ public final class Compaction {
                         }
 
                         // 12.8.7.2.3.
-                        JsonUtils.addValue(nestResult, itemActiveProperty, compactedItem, asArray);
+                        nestResult.add(itemActiveProperty, compactedItem, asArray);
 
                     // 12.8.7.3.
                     } else {
@@ -530,13 +536,7 @@ public final class Compaction {
                     if (container.contains(Keywords.GRAPH) && container.contains(Keywords.ID)) {
 
                         // 12.8.8.1.1.
-                        Map<String, JsonValue> mapObject =  nestResult.containsKey(itemActiveProperty) 
-                                                    ? new LinkedHashMap<>(nestResult.get(itemActiveProperty).asJsonObject())
-                                                    : null;
-                        
-                        if (mapObject == null) {
-                            mapObject = new LinkedHashMap<>();
-                        }
+                        final JsonMapBuilder mapObject = nestResult.getMapBuilder(itemActiveProperty);
 
                         // 12.8.8.1.2.
                         String mapKey = null;
@@ -550,9 +550,7 @@ public final class Compaction {
                         }
    
                         // 12.8.8.1.3.
-                        JsonUtils.addValue(mapObject, mapKey, compactedItem, asArray);
-
-                        nestResult.put(itemActiveProperty, JsonUtils.toJsonObject(mapObject));
+                        mapObject.add(mapKey, compactedItem, asArray);
                         
                     // 12.8.8.2.
                     } else if (container.contains(Keywords.GRAPH) 
@@ -560,13 +558,7 @@ public final class Compaction {
                                     && GraphObject.isSimpleGraphObject(expandedItem)
                                             ) {
                         // 12.8.8.2.1.
-                        Map<String, JsonValue> mapObject = nestResult.containsKey(itemActiveProperty) 
-                                                    ? new LinkedHashMap<>(nestResult.get(itemActiveProperty).asJsonObject())
-                                                    : null;
-        
-                        if (mapObject == null) {
-                            mapObject = new LinkedHashMap<>();
-                        }
+                        final JsonMapBuilder mapObject = nestResult.getMapBuilder(itemActiveProperty);
                         
                         // 12.8.8.2.2.
                         String mapKey  = expandedItem.asJsonObject().containsKey(Keywords.INDEX)
@@ -578,9 +570,7 @@ public final class Compaction {
                         }
    
                         // 12.8.8.2.3.
-                        JsonUtils.addValue(mapObject, mapKey, compactedItem, asArray);
-
-                        nestResult.put(itemActiveProperty, JsonUtils.toJsonObject(mapObject));
+                        mapObject.add(mapKey, compactedItem, asArray);
                         
                     // 12.8.8.3.                        
                     } else if (container.contains(Keywords.GRAPH) 
@@ -599,7 +589,7 @@ public final class Compaction {
                         }
 
                         // 12.8.8.3.2.
-                        JsonUtils.addValue(nestResult, itemActiveProperty, compactedItem, asArray);
+                        nestResult.add(itemActiveProperty, compactedItem, asArray);
                         
                         
                     } else {
@@ -646,7 +636,7 @@ public final class Compaction {
                         }
 
                         // 12.8.8.4.4.
-                        JsonUtils.addValue(nestResult, itemActiveProperty, compactedItem, asArray);
+                        nestResult.add(itemActiveProperty, compactedItem, asArray);
                     }
                     
                 // 12.8.9.                    
@@ -658,10 +648,7 @@ public final class Compaction {
                         ) {
 
                     // 12.8.9.1
-                    final Map<String, JsonValue> mapObject = nestResult.containsKey(itemActiveProperty)
-                                                            ? new LinkedHashMap<>(nestResult.get(itemActiveProperty).asJsonObject())
-                                                            : new LinkedHashMap<>()
-                                                            ;
+                    final JsonMapBuilder mapObject = nestResult.getMapBuilder(itemActiveProperty);
                     // 12.8.9.2.
                     String keyToCompact = null;
                     
@@ -835,24 +822,24 @@ public final class Compaction {
                         mapKey = activeContext.uriCompaction().vocab(true).compact(Keywords.NONE);
                     } 
                     // 12.8.9.10.
-                    JsonUtils.addValue(mapObject, mapKey, compactedItem, asArray);
-
-
-                    nestResult.put(itemActiveProperty, JsonUtils.toJsonObject(mapObject));
+                    mapObject.add(mapKey, compactedItem, asArray);
 
                 // 12.8.10.                    
                 } else {
-                    JsonUtils.addValue(nestResult, itemActiveProperty, compactedItem, asArray);
-                    
-                }
-
-                if (nestResult != null && nestResultKey != null) {
-                    result.put(nestResultKey, JsonUtils.toJsonObject(nestResult));
+                    nestResult.add(itemActiveProperty, compactedItem, asArray);
                 }
             }
         }
 
         // 13.
-        return JsonUtils.toJsonObject(result);
-    }   
-}
\ No newline at end of file
+        return result.build();
+    }
+
+    private JsonValue compactItem(final String activeProperty, final JsonValue item) throws JsonLdError {
+        return Compaction
+                    .with(context)
+                    .compactArrays(compactArrays)
+                    .ordered(ordered)
+                    .compact(activeProperty, item);
+    }
+}
@@ -76,6 +76,28 @@ public final class UriCompaction {
             return null;
         }
 
+        // the result depends on the active context only if there is no value
+        if (value != null) {
+            return compactValue(variable);
+        }
+
+        final String cached = activeContext.getCompactedUri(variable, vocab, reverse);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final String result = compactValue(variable);
+
+        if (result != null) {
+            activeContext.setCompactedUri(variable, vocab, reverse, result);
+        }
+
+        return result;
+    }
+
+    private String compactValue(final String variable) throws JsonLdError {
+
         // 2.
         if (activeContext.getInverseContext() == null) {
             activeContext.createInverseContext();
@@ -470,18 +492,10 @@ public final class UriCompaction {
         String compactUri = null;
         
         // 7.
-        for (Entry<String, TermDefinition> termEntry : activeContext.getTermsMapping().entrySet()) {
+        for (Entry<String, TermDefinition> termEntry : activeContext.getPrefixIndex().find(variable)) {
       
+            // 7.1. terms not matching the variable are not indexed
             TermDefinition termDefinition = termEntry.getValue();
-            
-            // 7.1.
-            if (termDefinition.getUriMapping() == null
-                    || variable.equals(termDefinition.getUriMapping())
-                    || !variable.startsWith(termDefinition.getUriMapping())
-                    || termDefinition.isNotPrefix()
-                    ) {
-                continue;
-            }
 
             // 7.2.
             String compacttUriCandidate = 
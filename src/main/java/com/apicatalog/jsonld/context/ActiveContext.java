@@ -1,14 +1,17 @@
 package com.apicatalog.jsonld.context;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import javax.json.JsonObject;
 
 import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.cache.Cache;
+import com.apicatalog.jsonld.cache.LruCache;
 import com.apicatalog.jsonld.compaction.UriCompaction;
 import com.apicatalog.jsonld.compaction.ValueCompaction;
 import com.apicatalog.jsonld.expansion.UriExpansion;
@@ -23,9 +26,13 @@ import com.apicatalog.jsonld.lang.Version;
  */
 public final class ActiveContext {
 
+    private static final int MAX_DERIVED_CONTEXTS = 64;
+
+    private static final int MAX_MEMOIZED_URIS = 4096;
+
     // the active term definitions which specify how keys and values have to be
     // interpreted
-    private final Map<String, TermDefinition> terms;
+    private final TermDefinitions terms;
 
     // the current base IRI
     private URI baseUri;
@@ -33,7 +40,10 @@ public final class ActiveContext {
     // the original base URL
     private URI baseUrl;
 
-    private InverseContext inverseContext;
+    private volatile InverseContext inverseContext;
+
+    // an optional context with the same terms, the inverse context is shared with
+    private ActiveContext inverseContextSource;
 
     // an optional previous context, used when a non-propagated context is defined.
     private ActiveContext previousContext;
@@ -48,6 +58,21 @@ public final class ActiveContext {
     private DirectionType defaultBaseDirection;
 
     private final JsonLdOptions options;
+
+    // an optional key identifying the context, used to cache processed contexts
+    private ContextCacheKey cacheKey;
+
+    // contexts derived from this context, reused during a processing run
+    private volatile Cache<ContextCacheKey, ActiveContext> derivedContexts;
+
+    // memoized IRI expansions indexed by flags, shared with copies until a copy is changed
+    private volatile BoundedMemo<String, String>[] uriExpansionCache;
+
+    // memoized IRI compactions indexed by flags, shared with copies until a copy is changed
+    private volatile BoundedMemo<String, String>[] uriCompactionCache;
+
+    // prefix terms indexed by IRI mappings, shared with copies until a copy is changed
+    private volatile PrefixIndex prefixIndex;
     
     public ActiveContext(final JsonLdOptions options) {
         this(null, null, null, options);
@@ -61,13 +86,16 @@ public final class ActiveContext {
         this.baseUri = baseUri;
         this.baseUrl = baseUrl;
         this.previousContext = previousContext;
-        this.terms = new LinkedHashMap<>();
+        this.terms = new TermDefinitions();
         this.options = options;
+        this.cacheKey = previousContext == null && options != null
+                            ? ContextCacheKey.initial(baseUri, baseUrl, options.getProcessingMode())
+                            : null;
     }
 
     // copy constructor
     public ActiveContext(final ActiveContext origin) {
-        this.terms = new LinkedHashMap<>(origin.terms);
+        this.terms = origin.terms.derive();
         this.baseUri = origin.baseUri;
         this.baseUrl = origin.baseUrl;
         this.inverseContext = origin.inverseContext;
@@ -76,25 +104,63 @@ public final class ActiveContext {
         this.defaultLanguage = origin.defaultLanguage;
         this.defaultBaseDirection = origin.defaultBaseDirection;
         this.options = origin.options;
+        this.cacheKey = null;
+        this.uriExpansionCache = origin.uriExpansionCache;
+        this.uriCompactionCache = origin.uriCompactionCache;
+        this.prefixIndex = origin.prefixIndex;
+    }
+
+    // copy constructor preserving the cache key, binds the copy to the given options
+    protected ActiveContext(final ActiveContext origin, final JsonLdOptions options) {
+        this.terms = origin.terms.derive();
+        this.baseUri = origin.baseUri;
+        this.baseUrl = origin.baseUrl;
+        this.inverseContext = origin.inverseContext;
+        this.previousContext = origin.previousContext != null
+                                    ? new ActiveContext(origin.previousContext, options)
+                                    : null;
+        this.vocabularyMapping = origin.vocabularyMapping;
+        this.defaultLanguage = origin.defaultLanguage;
+        this.defaultBaseDirection = origin.defaultBaseDirection;
+        this.options = options;
+        this.cacheKey = origin.cacheKey;
+        this.uriExpansionCache = origin.uriExpansionCache;
+        this.uriCompactionCache = origin.uriCompactionCache;
+        this.prefixIndex = origin.prefixIndex;
+        this.inverseContextSource = origin.inverseContextSource != null 
+                                        ? origin.inverseContextSource
+                                        : origin;
     }
 
     public void createInverseContext() {
-        this.inverseContext = InverseContextBuilder.with(this).build();
-   }
+        this.inverseContext = inverseContextSource != null
+                                    ? inverseContextSource.getOrCreateInverseContext()
+                                    : InverseContextBuilder.with(this).build();
+    }
+
+    private InverseContext getOrCreateInverseContext() {
+
+        InverseContext result = inverseContext;
+
+        if (result == null) {
+            result = InverseContextBuilder.with(this).build();
+            inverseContext = result;
+        }
+
+        return result;
+    }
    
     public boolean containsTerm(final String term) {
-        return terms.containsKey(term);
+        return terms.contains(term);
     }
 
     public boolean containsProtectedTerm() {
-        return terms.values().stream().anyMatch(TermDefinition::isProtected);
+        return terms.asMap().values().stream().anyMatch(TermDefinition::isProtected);
     }
 
     protected Optional<TermDefinition> removeTerm(final String term) {
-        if (terms.containsKey(term)) {
-            return Optional.of(terms.remove(term));
-        }
-        return Optional.empty();
+        resetInverseContext();
+        return Optional.ofNullable(terms.remove(term));
     }
 
     public Optional<TermDefinition> getTerm(final String value) {
@@ -130,7 +196,18 @@ public final class ActiveContext {
     }
     
     public void setBaseUri(final URI baseUri) {
+        
+        if (Objects.equals(this.baseUri, baseUri)) {
+            return;
+        }
+        
         this.baseUri = baseUri;
+        this.cacheKey = null;
+        this.derivedContexts = null;
+        
+        // only document relative IRIs depend on the base IRI
+        this.uriExpansionCache = resetMemos(uriExpansionCache, index(false, true), index(true, true));
+        this.uriCompactionCache = resetMemos(uriCompactionCache, index(false, false), index(false, true));
     }
 
     public InverseContext getInverseContext() {
@@ -138,11 +215,11 @@ public final class ActiveContext {
     }
         
     public Map<String, TermDefinition> getTermsMapping() {
-        return terms;
+        return terms.asMap();
     }
     
     public Collection<String> getTerms() {
-        return terms.keySet();
+        return terms.asMap().keySet();
     }
     
     public ActiveContextBuilder newContext() {
@@ -178,30 +255,159 @@ public final class ActiveContext {
     }
     
     protected void setDefaultBaseDirection(final DirectionType defaultBaseDirection) {
+        resetInverseContext();
         this.defaultBaseDirection = defaultBaseDirection;
     }
     
     protected void setDefaultLanguage(final String defaultLanguage) {
+        resetInverseContext();
         this.defaultLanguage = defaultLanguage;
     }
     
     protected void setVocabularyMapping(final String vocabularyMapping) {
+        this.derivedContexts = null;
+        this.uriExpansionCache = null;
+        this.uriCompactionCache = null;
         this.vocabularyMapping = vocabularyMapping;
     }
     
     protected void setBaseUrl(final URI baseUrl) {
+        this.derivedContexts = null;
         this.baseUrl = baseUrl;
     }
     
     protected void setPreviousContext(final ActiveContext previousContext) {
+        this.derivedContexts = null;
         this.previousContext = previousContext;
     }
     
     protected void setInverseContext(final InverseContext inverseContext) {
         this.inverseContext = inverseContext;
+        this.inverseContextSource = null;
+        this.uriCompactionCache = null;
+    }
+
+    private void resetInverseContext() {
+        this.inverseContext = null;
+        this.inverseContextSource = null;
+        this.derivedContexts = null;
+        this.uriExpansionCache = null;
+        this.uriCompactionCache = null;
+        this.prefixIndex = null;
+    }
+
+    protected Cache<ContextCacheKey, ActiveContext> getDerivedContexts() {
+
+        Cache<ContextCacheKey, ActiveContext> result = derivedContexts;
+
+        if (result == null) {
+            result = new LruCache<>(MAX_DERIVED_CONTEXTS);
+            derivedContexts = result;
+        }
+
+        return result;
     }
     
+    /**
+     * Get a memoized result of {@link UriExpansion} of a value with no local context.
+     * 
+     * @param value the expanded value
+     * @param vocab the <code>vocab</code> flag
+     * @param documentRelative the <code>documentRelative</code> flag
+     * @return the expanded IRI or <code>null</code> if the result is not memoized
+     */
+    public String getExpandedUri(final String value, final boolean vocab, final boolean documentRelative) {
+        return uriExpansionCache(vocab, documentRelative).get(value);
+    }
+
+    public void setExpandedUri(final String value, final boolean vocab, final boolean documentRelative, final String result) {
+        uriExpansionCache(vocab, documentRelative).put(value, result);
+    }
+
+    /**
+     * Get a memoized result of {@link UriCompaction} of a variable with no value.
+     * 
+     * @param variable the compacted IRI
+     * @param vocab the <code>vocab</code> flag
+     * @param reverse the <code>reverse</code> flag
+     * @return the compacted IRI or <code>null</code> if the result is not memoized
+     */
+    public String getCompactedUri(final String variable, final boolean vocab, final boolean reverse) {
+        return uriCompactionCache(vocab, reverse).get(variable);
+    }
+
+    public void setCompactedUri(final String variable, final boolean vocab, final boolean reverse, final String result) {
+        uriCompactionCache(vocab, reverse).put(variable, result);
+    }
+
+    private BoundedMemo<String, String> uriExpansionCache(final boolean vocab, final boolean documentRelative) {
+
+        BoundedMemo<String, String>[] result = uriExpansionCache;
+
+        if (result == null) {
+            result = BoundedMemo.array(4, MAX_MEMOIZED_URIS);
+            uriExpansionCache = result;
+        }
+
+        return result[index(vocab, documentRelative)];
+    }
+
+    private BoundedMemo<String, String> uriCompactionCache(final boolean vocab, final boolean reverse) {
+
+        BoundedMemo<String, String>[] result = uriCompactionCache;
+
+        if (result == null) {
+            result = BoundedMemo.array(4, MAX_MEMOIZED_URIS);
+            uriCompactionCache = result;
+        }
+
+        return result[index(vocab, reverse)];
+    }
+
+    // a copy of the given memos with the slots at the given indices replaced by empty memos
+    private static final BoundedMemo<String, String>[] resetMemos(final BoundedMemo<String, String>[] memos, final int... indices) {
+        
+        if (memos == null) {
+            return null;
+        }
+        
+        final BoundedMemo<String, String>[] result = Arrays.copyOf(memos, memos.length);
+        
+        for (final int index : indices) {
+            result[index] = new BoundedMemo<>(MAX_MEMOIZED_URIS);
+        }
+        
+        return result;
+    }
+
+    private static final int index(final boolean first, final boolean second) {
+        return (first ? 2 : 0) | (second ? 1 : 0);
+    }
+
+    public PrefixIndex getPrefixIndex() {
+
+        PrefixIndex result = prefixIndex;
+
+        if (result == null) {
+            result = inverseContextSource != null
+                        ? inverseContextSource.getPrefixIndex()
+                        : PrefixIndex.create(terms.asMap());
+            prefixIndex = result;
+        }
+
+        return result;
+    }
+
+    protected ContextCacheKey getCacheKey() {
+        return cacheKey;
+    }
+
+    protected void setCacheKey(final ContextCacheKey cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
     protected void setTerm(final String term, final TermDefinition definition) {
+        resetInverseContext();
         terms.put(term, definition);
     }
 }
\ No newline at end of file
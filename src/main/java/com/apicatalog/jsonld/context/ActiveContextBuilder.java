@@ -4,7 +4,14 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -15,6 +22,7 @@ import javax.json.JsonValue;
 
 import com.apicatalog.jsonld.api.JsonLdError;
 import com.apicatalog.jsonld.api.JsonLdErrorCode;
+import com.apicatalog.jsonld.cache.Cache;
 import com.apicatalog.jsonld.document.Document;
 import com.apicatalog.jsonld.http.ProfileConstants;
 import com.apicatalog.jsonld.json.JsonUtils;
@@ -23,6 +31,7 @@ import com.apicatalog.jsonld.lang.DirectionType;
 import com.apicatalog.jsonld.lang.Keywords;
 import com.apicatalog.jsonld.lang.LanguageTag;
 import com.apicatalog.jsonld.lang.Version;
+import com.apicatalog.jsonld.loader.AsyncDocumentLoader;
 import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
 import com.apicatalog.jsonld.uri.UriResolver;
 import com.apicatalog.jsonld.uri.UriUtils;
@@ -54,6 +63,9 @@ public class ActiveContextBuilder {
     // runtime
     private ActiveContext result;
 
+    // remote contexts being loaded concurrently, by context IRI
+    private Map<String, CompletableFuture<Document>> loading;
+
     private ActiveContextBuilder(final ActiveContext activeContext) {
 
         this.activeContext = activeContext;
@@ -66,6 +78,7 @@ public class ActiveContextBuilder {
         
         // runtime
         this.result = null;
+        this.loading = Collections.emptyMap();
     }
 
     public static final ActiveContextBuilder with(final ActiveContext activeContext) {        
@@ -94,6 +107,61 @@ public class ActiveContextBuilder {
 
     public ActiveContext create(final JsonValue localContext, final URI baseUrl) throws JsonLdError {
 
+        // only contexts not being processed as a part of a remote context are reused
+        if (!remoteContexts.isEmpty()) {
+            process(localContext, baseUrl);
+            return result;
+        }
+
+        // contexts derived from the active context during a processing run, e.g. type-scoped contexts
+        final Cache<ContextCacheKey, ActiveContext> derivedContexts = activeContext.getDerivedContexts();
+
+        final ContextCacheKey derivedKey = ContextCacheKey.of(localContext, baseUrl, overrideProtected, propagate, validateScopedContext);
+
+        ActiveContext context = derivedContexts.get(derivedKey);
+
+        if (context == null) {
+            context = createCached(localContext, baseUrl);
+            derivedContexts.put(derivedKey, context);
+        }
+
+        return context;
+    }
+
+    private ActiveContext createCached(final JsonValue localContext, final URI baseUrl) throws JsonLdError {
+
+        final Cache<ContextCacheKey, ActiveContext> cache = activeContext.getOptions().getContextCache();
+
+        final ContextCacheKey cacheKey = cache != null && activeContext.getCacheKey() != null
+                                            ? ContextCacheKey.of(activeContext.getCacheKey(), localContext, baseUrl, overrideProtected, propagate, validateScopedContext)
+                                            : null;
+
+        if (cacheKey != null) {
+
+            final ActiveContext cached = cache.get(cacheKey);
+
+            if (cached != null) {
+                return new ActiveContext(cached, activeContext.getOptions());
+            }
+        }
+
+        process(localContext, baseUrl);
+
+        // 6.
+        result.setCacheKey(cacheKey);
+
+        if (cacheKey != null) {
+            // derive a copy first, the cached context is never modified afterwards
+            final ActiveContext copy = new ActiveContext(result, activeContext.getOptions());
+            cache.put(cacheKey, result);
+            return copy;
+        }
+
+        return result;
+    }
+
+    private void process(final JsonValue localContext, final URI baseUrl) throws JsonLdError {
+
         // 1. Initialize result to the result of cloning active context, with inverse
         // context set to null.
         result = new ActiveContext(activeContext);
@@ -116,6 +184,9 @@ public class ActiveContextBuilder {
             result.setPreviousContext(activeContext);
         }
 
+        // load all remote contexts referenced by local context at once
+        preload(localContext, baseUrl);
+
         // 4. If local context is not an array, set local context to an array containing
         // only local context.
         // 5. For each item context in local context:
@@ -220,7 +291,7 @@ public class ActiveContextBuilder {
 
                 try {
 
-                    final Document importedDocument = activeContext.getOptions().getDocumentLoader().loadDocument(URI.create(contextImportUri), loaderOptions);
+                    final Document importedDocument = load(contextImportUri, loaderOptions);
 
                     if (importedDocument == null) {
                         throw new JsonLdError(JsonLdErrorCode.INVALID_REMOTE_CONTEXT, "Imported context[" + contextImportUri + "] is null.");
@@ -433,9 +504,6 @@ public class ActiveContextBuilder {
                 }
             }
         }
-
-        // 6.
-        return result;
     }
     
     private void fetch(final String context, final URI baseUrl) throws JsonLdError {
@@ -479,7 +547,7 @@ public class ActiveContextBuilder {
 
         try {
             
-            final Document remoteImport = activeContext.getOptions().getDocumentLoader().loadDocument(URI.create(contextUri), loaderOptions);
+            final Document remoteImport = load(contextUri, loaderOptions);
 
             if (remoteImport == null) {
                 throw new JsonLdError(JsonLdErrorCode.INVALID_REMOTE_CONTEXT, "Imported context is null.");
@@ -521,4 +589,79 @@ public class ActiveContextBuilder {
             throw new JsonLdError(JsonLdErrorCode.LOADING_REMOTE_CONTEXT_FAILED, e);
         }
     }
+
+    /**
+     * Starts loading of remote contexts and imports referenced by the given local context 
+     * if there are more of them and an executor is set. 
+     */
+    private void preload(final JsonValue localContext, final URI baseUrl) {
+
+        final Executor executor = activeContext.getOptions().getContextExecutor();
+
+        if (executor == null 
+                || activeContext.getOptions().getDocumentLoader() == null 
+                || JsonUtils.isNotArray(localContext)) {
+            return;
+        }
+
+        final Set<String> contextUris = new LinkedHashSet<>();
+
+        for (final JsonValue itemContext : localContext.asJsonArray()) {
+
+            String contextUri = null;
+
+            if (JsonUtils.isString(itemContext)) {
+                contextUri = ((JsonString) itemContext).getString();
+
+            } else if (JsonUtils.isObject(itemContext) 
+                        && JsonUtils.isString(itemContext.asJsonObject().get(Keywords.IMPORT))
+                        && !activeContext.inMode(Version.V1_0)) {
+
+                contextUri = itemContext.asJsonObject().getString(Keywords.IMPORT);
+            }
+
+            if (contextUri == null || UriUtils.isNotURI(contextUri)) {
+                continue;
+            }
+
+            contextUri = UriResolver.resolve(baseUrl, contextUri);
+
+            if (UriUtils.isAbsoluteUri(contextUri)) {
+                contextUris.add(contextUri);
+            }
+        }
+
+        if (contextUris.size() < 2) {
+            return;
+        }
+
+        final AsyncDocumentLoader loader = AsyncDocumentLoader.of(activeContext.getOptions().getDocumentLoader(), executor);
+
+        loading = new HashMap<>(contextUris.size());
+
+        for (final String contextUri : contextUris) {
+            loading.put(contextUri, loader.loadDocumentAsync(URI.create(contextUri), ContextPrefetcher.contextLoaderOptions(), executor));
+        }
+    }
+
+    private Document load(final String contextUri, final DocumentLoaderOptions loaderOptions) throws JsonLdError {
+
+        final CompletableFuture<Document> document = loading.get(contextUri);
+
+        if (document == null) {
+            return activeContext.getOptions().getDocumentLoader().loadDocument(URI.create(contextUri), loaderOptions);
+        }
+
+        try {
+            return document.join();
+
+        } catch (CompletionException e) {
+
+            if (e.getCause() instanceof JsonLdError) {
+                throw (JsonLdError) e.getCause();
+            }
+
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, e.getCause());
+        }
+    }
 }
@@ -0,0 +1,269 @@
+package com.apicatalog.jsonld.context;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.cache.Cache;
+import com.apicatalog.jsonld.lang.DirectionType;
+import com.apicatalog.jsonld.lang.Version;
+
+/**
+ * Reads an {@link ActiveContext} written by {@link ActiveContextWriter}.
+ * <p>
+ * If the given options have a context cache set then the context is put
+ * into the cache. Any subsequent processing of the same context
+ * is then served from the cache.
+ * </p>
+ */
+public final class ActiveContextReader {
+
+    private final DataInputStream input;
+
+    private final List<String> strings;
+
+    public ActiveContextReader(final InputStream input) {
+        this.input = new DataInputStream(input);
+        this.strings = new ArrayList<>();
+    }
+
+    public ActiveContext read(final JsonLdOptions options) throws IOException {
+
+        if (options == null) {
+            throw new IllegalArgumentException("The options must not be null.");
+        }
+
+        if (input.readInt() != ActiveContextWriter.MAGIC) {
+            throw new IOException("Not a serialized active context.");
+        }
+
+        final int version = input.readUnsignedShort();
+
+        if (version != ActiveContextWriter.VERSION) {
+            throw new IOException("Unsupported version [" + version + "] of a serialized active context, expected [" + ActiveContextWriter.VERSION + "].");
+        }
+
+        final ContextCacheKey key = readKey();
+
+        final ActiveContext context = readContext(options);
+
+        final InverseContext inverseContext = new InverseContext();
+
+        for (int count = readVarInt(); count > 0; count--) {
+            inverseContext.set(readString(), readString(), readString(), readString(), readString());
+        }
+
+        context.setInverseContext(inverseContext);
+        context.setCacheKey(key);
+
+        final Cache<ContextCacheKey, ActiveContext> cache = options.getContextCache();
+
+        if (key != null && cache != null) {
+            // derive a copy first, the cached context is never modified afterwards
+            final ActiveContext copy = new ActiveContext(context, options);
+            cache.put(key, context);
+            return copy;
+        }
+
+        return context;
+    }
+
+    private ContextCacheKey readKey() throws IOException {
+
+        if (!input.readBoolean()) {
+            return null;
+        }
+
+        final ContextCacheKey parent = readKey();
+        final JsonValue localContext = readJson();
+        final URI baseUri = readUri();
+        final URI baseUrl = readUri();
+        final String processingMode = readString();
+        final int flags = input.readUnsignedByte();
+
+        return new ContextCacheKey(
+                        parent,
+                        localContext,
+                        baseUri,
+                        baseUrl,
+                        processingMode != null ? readEnum(Version.class, processingMode) : null,
+                        (flags & ActiveContextWriter.OVERRIDE_PROTECTED) != 0,
+                        (flags & ActiveContextWriter.PROPAGATE) != 0,
+                        (flags & ActiveContextWriter.VALIDATE_SCOPED_CONTEXT) != 0
+                        );
+    }
+
+    private ActiveContext readContext(final JsonLdOptions options) throws IOException {
+
+        final URI baseUri = readUri();
+        final URI baseUrl = readUri();
+        final String vocabularyMapping = readString();
+        final String defaultLanguage = readString();
+        final String defaultBaseDirection = readString();
+
+        final ActiveContext previousContext = input.readBoolean() ? readContext(options) : null;
+
+        final ActiveContext context = new ActiveContext(baseUri, baseUrl, previousContext, options);
+
+        context.setVocabularyMapping(vocabularyMapping);
+        context.setDefaultLanguage(defaultLanguage);
+
+        if (defaultBaseDirection != null) {
+            context.setDefaultBaseDirection(readEnum(DirectionType.class, defaultBaseDirection));
+        }
+
+        for (int count = readVarInt(); count > 0; count--) {
+            final String term = readString();
+            context.setTerm(term, readTerm());
+        }
+
+        context.setCacheKey(null);
+
+        return context;
+    }
+
+    private TermDefinition readTerm() throws IOException {
+
+        final String uriMapping = readString();
+        final int flags = input.readUnsignedByte();
+
+        final TermDefinition definition = new TermDefinition(
+                                                (flags & ActiveContextWriter.PREFIX) != 0,
+                                                (flags & ActiveContextWriter.PROTECTED) != 0,
+                                                (flags & ActiveContextWriter.REVERSE_PROPERTY) != 0
+                                                );
+
+        definition.setUriMapping(uriMapping);
+        definition.setBaseUrl(readUri());
+        definition.setLocalContext(readJson());
+
+        final Set<String> containerMapping = new HashSet<>();
+
+        for (int count = readVarInt(); count > 0; count--) {
+            containerMapping.add(readString());
+        }
+
+        definition.setContainerMapping(containerMapping);
+        definition.setIndexMapping(readString());
+        definition.setNestValue(readString());
+        definition.setTypeMapping(readString());
+
+        final String directionMapping = readString();
+
+        if (directionMapping != null) {
+            definition.setDirectionMapping(readEnum(DirectionType.class, directionMapping));
+        }
+
+        definition.setLanguageMapping(readJson());
+
+        return definition;
+    }
+
+    private JsonValue readJson() throws IOException {
+
+        final String json = readString();
+
+        if (json == null) {
+            return null;
+        }
+
+        try (final JsonParser parser = Json.createParser(new StringReader(json))) {
+
+            parser.next();
+            return parser.getValue();
+
+        } catch (JsonException e) {
+            throw new IOException("Invalid JSON value [" + json + "].", e);
+        }
+    }
+
+    private URI readUri() throws IOException {
+
+        final String uri = readString();
+
+        if (uri == null) {
+            return null;
+        }
+
+        try {
+            return URI.create(uri);
+
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid URI [" + uri + "].", e);
+        }
+    }
+
+    private String readString() throws IOException {
+
+        final int reference = readVarInt();
+
+        if (reference == ActiveContextWriter.NULL_STRING) {
+            return null;
+        }
+
+        if (reference == ActiveContextWriter.NEW_STRING) {
+
+            final int length = readVarInt();
+
+            if (length < 0) {
+                throw new IOException("Invalid string length [" + length + "].");
+            }
+
+            final byte[] bytes = new byte[length];
+
+            input.readFully(bytes);
+
+            final String value = new String(bytes, StandardCharsets.UTF_8);
+
+            strings.add(value);
+
+            return value;
+        }
+
+        if (reference - 2 >= strings.size()) {
+            throw new IOException("Invalid string reference [" + reference + "].");
+        }
+
+        return strings.get(reference - 2);
+    }
+
+    private int readVarInt() throws IOException {
+
+        int value = 0;
+
+        for (int shift = 0; shift < 32; shift += 7) {
+
+            final int b = input.readUnsignedByte();
+
+            value |= (b & 0x7f) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Invalid variable length integer.");
+    }
+
+    private static final <T extends Enum<T>> T readEnum(final Class<T> type, final String name) throws IOException {
+        try {
+            return Enum.valueOf(type, name);
+
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid " + type.getSimpleName() + " value [" + name + "].", e);
+        }
+    }
+}
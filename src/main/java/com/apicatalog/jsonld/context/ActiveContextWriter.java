@@ -0,0 +1,187 @@
+package com.apicatalog.jsonld.context;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.json.JsonValue;
+
+/**
+ * Writes a processed {@link ActiveContext} in a compact binary form, including
+ * its term definitions and inverse context.
+ * <p>
+ * The form is versioned and can be read back by {@link ActiveContextReader}
+ * without running the context processing algorithm again.
+ * </p>
+ */
+public final class ActiveContextWriter {
+
+    static final int MAGIC = 0x4a4c4443;
+
+    static final int VERSION = 1;
+
+    // string references
+    static final int NULL_STRING = 0;
+    static final int NEW_STRING = 1;
+
+    // term definition flags
+    static final int PREFIX = 1;
+    static final int PROTECTED = 2;
+    static final int REVERSE_PROPERTY = 4;
+
+    // cache key flags
+    static final int OVERRIDE_PROTECTED = 1;
+    static final int PROPAGATE = 2;
+    static final int VALIDATE_SCOPED_CONTEXT = 4;
+
+    private final DataOutputStream output;
+
+    private final Map<String, Integer> strings;
+
+    public ActiveContextWriter(final OutputStream output) {
+        this.output = new DataOutputStream(output);
+        this.strings = new HashMap<>();
+    }
+
+    public void write(final ActiveContext context) throws IOException {
+
+        if (context == null) {
+            throw new IllegalArgumentException("The context must not be null.");
+        }
+
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+
+        writeKey(context.getCacheKey());
+        writeContext(context);
+
+        final InverseContext inverseContext = context.getInverseContext() != null
+                                                ? context.getInverseContext()
+                                                : InverseContextBuilder.with(context).build();
+
+        writeVarInt(inverseContext.entries().size());
+
+        for (final Map.Entry<InverseContext.Entry, String> entry : inverseContext.entries().entrySet()) {
+            writeString(entry.getKey().variable);
+            writeString(entry.getKey().container);
+            writeString(entry.getKey().type);
+            writeString(entry.getKey().key);
+            writeString(entry.getValue());
+        }
+
+        output.flush();
+    }
+
+    private void writeKey(final ContextCacheKey key) throws IOException {
+
+        output.writeBoolean(key != null);
+
+        if (key == null) {
+            return;
+        }
+
+        writeKey(key.parent());
+        writeJson(key.localContext());
+        writeUri(key.baseUri());
+        writeUri(key.baseUrl());
+        writeString(key.processingMode() != null ? key.processingMode().name() : null);
+        output.writeByte((key.isOverrideProtected() ? OVERRIDE_PROTECTED : 0)
+                            | (key.isPropagate() ? PROPAGATE : 0)
+                            | (key.isValidateScopedContext() ? VALIDATE_SCOPED_CONTEXT : 0));
+    }
+
+    private void writeContext(final ActiveContext context) throws IOException {
+
+        writeUri(context.getBaseUri());
+        writeUri(context.getBaseUrl());
+        writeString(context.getVocabularyMapping());
+        writeString(context.getDefaultLanguage());
+        writeString(context.getDefaultBaseDirection() != null ? context.getDefaultBaseDirection().name() : null);
+
+        output.writeBoolean(context.getPreviousContext() != null);
+
+        if (context.getPreviousContext() != null) {
+            writeContext(context.getPreviousContext());
+        }
+
+        final Map<String, TermDefinition> terms = context.getTermsMapping();
+
+        writeVarInt(terms.size());
+
+        for (final Map.Entry<String, TermDefinition> term : terms.entrySet()) {
+            writeString(term.getKey());
+            writeTerm(term.getValue());
+        }
+    }
+
+    private void writeTerm(final TermDefinition definition) throws IOException {
+
+        writeString(definition.getUriMapping());
+        output.writeByte((definition.isPrefix() ? PREFIX : 0)
+                            | (definition.isProtected() ? PROTECTED : 0)
+                            | (definition.isReverseProperty() ? REVERSE_PROPERTY : 0));
+        writeUri(definition.getBaseUrl());
+        writeJson(definition.getLocalContext());
+
+        writeVarInt(definition.getContainerMapping().size());
+
+        for (final String container : definition.getContainerMapping()) {
+            writeString(container);
+        }
+
+        writeString(definition.getIndexMapping());
+        writeString(definition.getNestValue());
+        writeString(definition.getTypeMapping());
+        writeString(definition.getDirectionMapping() != null ? definition.getDirectionMapping().name() : null);
+        writeJson(definition.getLanguageMapping());
+    }
+
+    private void writeJson(final JsonValue value) throws IOException {
+        writeString(value != null ? value.toString() : null);
+    }
+
+    private void writeUri(final URI uri) throws IOException {
+        writeString(uri != null ? uri.toString() : null);
+    }
+
+    /**
+     * Writes a string reference. A string is written once, any subsequent
+     * occurrence refers to the first one.
+     */
+    private void writeString(final String value) throws IOException {
+
+        if (value == null) {
+            writeVarInt(NULL_STRING);
+            return;
+        }
+
+        final Integer index = strings.get(value);
+
+        if (index != null) {
+            writeVarInt(index + 2);
+            return;
+        }
+
+        strings.put(value, strings.size());
+
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        writeVarInt(NEW_STRING);
+        writeVarInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+
+        while ((value & ~0x7f) != 0) {
+            output.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+
+        output.writeByte(value);
+    }
+}
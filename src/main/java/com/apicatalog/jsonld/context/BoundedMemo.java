@@ -0,0 +1,78 @@
+package com.apicatalog.jsonld.context;
+
+import com.apicatalog.jsonld.cache.LruCache;
+
+/**
+ * Memoized results of a computation keyed by its arguments.
+ * <p>
+ * The number of entries is bounded, the least recently used entries are evicted
+ * once the capacity is reached. Keys are spread over independent segments to 
+ * reduce contention, an instance can be accessed concurrently.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+final class BoundedMemo<K, V> {
+
+    private static final int MAX_SEGMENTS = 8;
+    
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+    
+    private final LruCache<K, V>[] segments;
+
+    @SuppressWarnings("unchecked")
+    BoundedMemo(final int capacity) {
+        
+        final int count = Math.max(1, Math.min(MAX_SEGMENTS, capacity / MIN_SEGMENT_CAPACITY));
+        
+        this.segments = new LruCache[count];
+        
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new LruCache<>((capacity + count - 1) / count);
+        }
+    }
+
+    /**
+     * Get a memoized result.
+     *
+     * @param key the key, must not be <code>null</code>
+     * @return the result or <code>null</code> if there is no such key
+     */
+    V get(final K key) {
+        return segment(key).get(key);
+    }
+
+    void put(final K key, final V value) {
+        segment(key).put(key, value);
+    }
+
+    void clear() {
+        for (final LruCache<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private LruCache<K, V> segment(final K key) {
+        
+        if (segments.length == 1) {
+            return segments[0];
+        }
+        
+        final int hash = key.hashCode();
+        
+        return segments[((hash ^ (hash >>> 16)) & 0x7fffffff) % segments.length];
+    }
+    
+    @SuppressWarnings("unchecked")
+    static final <K, V> BoundedMemo<K, V>[] array(final int length, final int capacity) {
+
+        final BoundedMemo<K, V>[] memos = new BoundedMemo[length];
+
+        for (int i = 0; i < memos.length; i++) {
+            memos[i] = new BoundedMemo<>(capacity);
+        }
+
+        return memos;
+    }
+}
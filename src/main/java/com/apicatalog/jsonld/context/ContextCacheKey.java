@@ -0,0 +1,129 @@
+package com.apicatalog.jsonld.context;
+
+import java.net.URI;
+import java.util.Objects;
+
+import javax.json.JsonValue;
+
+import com.apicatalog.jsonld.lang.Version;
+
+/**
+ * An opaque key identifying a processed {@link ActiveContext}.
+ * <p>
+ * A key describes how a context has been created, i.e. a parent context key,
+ * a local context and a base URL, or, in the case of an initial context,
+ * its base IRI, base URL and processing mode. Two contexts with equal keys
+ * are structurally equal.
+ * </p>
+ *
+ * @see ActiveContextBuilder
+ * @see com.apicatalog.jsonld.api.JsonLdOptions#setContextCache(com.apicatalog.jsonld.cache.Cache)
+ */
+public final class ContextCacheKey {
+
+    private final ContextCacheKey parent;
+
+    private final JsonValue localContext;
+
+    private final URI baseUri;
+
+    private final URI baseUrl;
+
+    private final Version processingMode;
+
+    private final boolean overrideProtected;
+
+    private final boolean propagate;
+
+    private final boolean validateScopedContext;
+
+    private final int hashCode;
+
+    ContextCacheKey(final ContextCacheKey parent, final JsonValue localContext, final URI baseUri, final URI baseUrl, final Version processingMode,
+                final boolean overrideProtected, final boolean propagate, final boolean validateScopedContext) {
+        this.parent = parent;
+        this.localContext = localContext;
+        this.baseUri = baseUri;
+        this.baseUrl = baseUrl;
+        this.processingMode = processingMode;
+        this.overrideProtected = overrideProtected;
+        this.propagate = propagate;
+        this.validateScopedContext = validateScopedContext;
+        this.hashCode = Objects.hash(parent, localContext, baseUri, baseUrl, processingMode, overrideProtected, propagate, validateScopedContext);
+    }
+
+    static final ContextCacheKey initial(final URI baseUri, final URI baseUrl, final Version processingMode) {
+        return new ContextCacheKey(null, null, baseUri, baseUrl, processingMode, false, true, true);
+    }
+
+    static final ContextCacheKey of(final ContextCacheKey parent, final JsonValue localContext, final URI baseUrl,
+                final boolean overrideProtected, final boolean propagate, final boolean validateScopedContext) {
+        return new ContextCacheKey(parent, localContext, null, baseUrl, parent.processingMode, overrideProtected, propagate, validateScopedContext);
+    }
+
+    static final ContextCacheKey of(final JsonValue localContext, final URI baseUrl,
+                final boolean overrideProtected, final boolean propagate, final boolean validateScopedContext) {
+        return new ContextCacheKey(null, localContext, null, baseUrl, null, overrideProtected, propagate, validateScopedContext);
+    }
+
+    ContextCacheKey parent() {
+        return parent;
+    }
+
+    JsonValue localContext() {
+        return localContext;
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    URI baseUrl() {
+        return baseUrl;
+    }
+
+    Version processingMode() {
+        return processingMode;
+    }
+
+    boolean isOverrideProtected() {
+        return overrideProtected;
+    }
+
+    boolean isPropagate() {
+        return propagate;
+    }
+
+    boolean isValidateScopedContext() {
+        return validateScopedContext;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final ContextCacheKey other = (ContextCacheKey) obj;
+
+        return hashCode == other.hashCode
+                && overrideProtected == other.overrideProtected
+                && propagate == other.propagate
+                && validateScopedContext == other.validateScopedContext
+                && processingMode == other.processingMode
+                && Objects.equals(baseUri, other.baseUri)
+                && Objects.equals(baseUrl, other.baseUrl)
+                && Objects.equals(localContext, other.localContext)
+                && Objects.equals(parent, other.parent);
+    }
+}
@@ -0,0 +1,319 @@
+package com.apicatalog.jsonld.context;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.http.ProfileConstants;
+import com.apicatalog.jsonld.json.JsonUtils;
+import com.apicatalog.jsonld.lang.Keywords;
+import com.apicatalog.jsonld.loader.AsyncDocumentLoader;
+import com.apicatalog.jsonld.loader.DocumentLoader;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+import com.apicatalog.jsonld.uri.UriResolver;
+import com.apicatalog.jsonld.uri.UriUtils;
+
+/**
+ * Collects remote context IRIs referenced by a document, including contexts referenced
+ * by already fetched contexts, and loads all IRIs found in one round at once.
+ * <p>
+ * Only context positions are followed, i.e. <code>@context</code> entries, 
+ * <code>@import</code> and scoped contexts of term definitions. Values of <code>@value</code> 
+ * entries and values of terms defined with <code>"@type": "@json"</code> are JSON literals
+ * and are not scanned. A document body is scanned once the contexts referenced by 
+ * its top-level <code>@context</code> are fetched, so terms defined by them are known.
+ * </p>
+ * <p>
+ * Prefetching is a best effort optimization only. Documents failing to load are
+ * ignored and requested again, and reported, by the context processing algorithm. 
+ * </p>
+ */
+public final class ContextPrefetcher {
+
+    private static final int MAX_REMOTE_CONTEXTS = 256;
+    
+    private final DocumentLoader loader;
+    
+    // calls blocking loaders, null if the loaders are called by the calling thread
+    private Executor executor;
+    
+    private final Set<URI> found;
+    
+    // terms defined with "@type": "@json", values of these terms are not scanned
+    private final Set<String> jsonTerms;
+    
+    // input documents and their base URLs, scanned once top-level contexts are fetched
+    private final List<JsonValue> inputs;
+    private final List<URI> inputBaseUrls;
+    
+    private ContextPrefetcher(final DocumentLoader loader) {
+        this.loader = loader;
+        this.executor = null;
+        this.found = new LinkedHashSet<>();
+        this.jsonTerms = new HashSet<>();
+        inputs = new ArrayList<>();
+        inputBaseUrls = new ArrayList<>();
+    }
+    
+    public static final ContextPrefetcher with(final DocumentLoader loader) {
+        
+        if (loader == null) {
+            throw new IllegalArgumentException("The loader must not be null.");
+        }
+        
+        return new ContextPrefetcher(loader);
+    }
+
+    /**
+     * Set an executor calling blocking loaders, i.e. loaders not implementing {@link AsyncDocumentLoader}
+     * or wrapped by caching loaders, so the contexts are loaded concurrently.
+     * 
+     * @param executor an executor or <code>null</code> to call blocking loaders by the calling thread
+     * @return the prefetcher instance
+     */
+    public ContextPrefetcher executor(final Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Collect context IRIs referenced by <code>@context</code> entries of the given document.
+     * Nested entries are collected by {@link #prefetch()}, after contexts referenced 
+     * by the top-level <code>@context</code> are fetched.
+     * 
+     * @param document a JSON-LD document
+     * @param baseUrl used to resolve relative IRIs, can be <code>null</code>
+     * @return the prefetcher instance
+     */
+    public ContextPrefetcher document(final JsonValue document, final URI baseUrl) {
+        
+        if (JsonUtils.isArray(document)) {
+            for (final JsonValue item : document.asJsonArray()) {
+                if (JsonUtils.isObject(item)) {
+                    scanContext(item.asJsonObject().get(Keywords.CONTEXT), baseUrl, found);
+                }
+            }
+            
+        } else if (JsonUtils.isObject(document)) {
+            scanContext(document.asJsonObject().get(Keywords.CONTEXT), baseUrl, found);
+        }
+        
+        inputs.add(document);
+        inputBaseUrls.add(baseUrl);
+        
+        return this;
+    }
+
+    /**
+     * Collect context IRIs referenced by the given local context.
+     * 
+     * @param localContext a local context, i.e. a value of <code>@context</code> entry
+     * @param baseUrl used to resolve relative IRIs, can be <code>null</code>
+     * @return the prefetcher instance
+     */
+    public ContextPrefetcher context(final JsonValue localContext, final URI baseUrl) {
+        scanContext(localContext, baseUrl, found);
+        return this;
+    }
+    
+    /**
+     * Load all collected contexts and contexts referenced by them.
+     * 
+     * @return {@link DocumentLoader} serving prefetched contexts and delegating
+     *          all other requests to the original loader 
+     */
+    public DocumentLoader prefetch() {
+        
+        final AsyncDocumentLoader asyncLoader = AsyncDocumentLoader.of(loader, executor);
+        
+        final Map<URI, Document> documents = new HashMap<>();
+        
+        final Set<URI> fetched = new LinkedHashSet<>();
+        
+        Set<URI> pending = new LinkedHashSet<>(found);
+        
+        while (fetched.size() < MAX_REMOTE_CONTEXTS) {
+            
+            if (pending.isEmpty()) {
+                
+                if (inputs.isEmpty()) {
+                    break;
+                }
+                
+                // terms defined by the top-level contexts are known, scan the documents
+                for (int i = 0; i < inputs.size(); i++) {
+                    scanDocument(inputs.get(i), inputBaseUrls.get(i), pending);
+                }
+                
+                inputs.clear();
+                inputBaseUrls.clear();
+                
+                pending.removeAll(fetched);
+                continue;
+            }
+            
+            final List<URI> urls = new ArrayList<>(pending);
+            final List<CompletableFuture<Document>> futures = new ArrayList<>(urls.size());
+            
+            for (final URI url : urls) {
+                
+                fetched.add(url);
+                
+                futures.add(asyncLoader
+                                .loadDocumentAsync(url, contextLoaderOptions(), executor)
+                                .handle((document, e) -> e != null ? null : document)
+                                );
+            }
+            
+            final Set<URI> next = new LinkedHashSet<>();
+            
+            for (int i = 0; i < urls.size(); i++) {
+                
+                final Document document = futures.get(i).join();
+                
+                if (document == null || !document.getJsonContent().isPresent()) {
+                    continue;
+                }
+
+                documents.put(urls.get(i), document);
+                
+                if (JsonUtils.isObject(document.getJsonContent().get())) {
+                    scanContext(
+                            document.getJsonContent().get().asJsonObject().get(Keywords.CONTEXT), 
+                            document.getDocumentUrl() != null ? document.getDocumentUrl() : urls.get(i), 
+                            next
+                            );
+                }
+            }
+            
+            next.removeAll(fetched);
+            pending = next;
+        }
+
+        if (documents.isEmpty()) {
+            return loader;
+        }
+        
+        return new PrefetchedLoader(documents, loader);
+    }
+    
+    private void scanDocument(final JsonValue value, final URI baseUrl, final Set<URI> result) {
+
+        if (JsonUtils.isArray(value)) {
+            value.asJsonArray().forEach(item -> scanDocument(item, baseUrl, result));
+            
+        } else if (JsonUtils.isObject(value)) {
+            
+            // an embedded context first, it can define terms with JSON literal values
+            scanContext(value.asJsonObject().get(Keywords.CONTEXT), baseUrl, result);
+            
+            value.asJsonObject().forEach((key, item) -> {
+                
+                // JSON literals
+                if (Keywords.CONTEXT.equals(key) || Keywords.VALUE.equals(key) || jsonTerms.contains(key)) {
+                    return;
+                }
+                
+                scanDocument(item, baseUrl, result);
+            });
+        }
+    }
+    
+    private void scanContext(final JsonValue value, final URI baseUrl, final Set<URI> result) {
+        
+        if (JsonUtils.isString(value)) {
+            add(((JsonString)value).getString(), baseUrl, result);
+
+        } else if (JsonUtils.isArray(value)) {
+            value.asJsonArray().forEach(item -> scanContext(item, baseUrl, result));
+            
+        } else if (JsonUtils.isObject(value)) {
+            
+            value.asJsonObject().forEach((key, definition) -> {
+                
+                if (Keywords.IMPORT.equals(key)) {
+                    
+                    if (JsonUtils.isString(definition)) {
+                        add(((JsonString)definition).getString(), baseUrl, result);
+                    }
+                    return;
+                }
+                
+                if (!JsonUtils.isObject(definition)) {
+                    return;
+                }
+                
+                final JsonValue type = definition.asJsonObject().get(Keywords.TYPE);
+                
+                if (JsonUtils.isString(type) && Keywords.JSON.equals(((JsonString)type).getString())) {
+                    jsonTerms.add(key);
+                }
+                
+                // a scoped context
+                scanContext(definition.asJsonObject().get(Keywords.CONTEXT), baseUrl, result);
+            });
+        }
+    }
+    
+    private static final void add(final String context, final URI baseUrl, final Set<URI> result) {
+        
+        if (UriUtils.isNotURI(context)) {
+            return;
+        }
+        
+        final String contextUri = baseUrl != null 
+                                    ? UriResolver.resolve(baseUrl, context)
+                                    : context;
+        
+        if (UriUtils.isAbsoluteUri(contextUri)) {
+            result.add(URI.create(contextUri));
+        }
+    }
+    
+    static final DocumentLoaderOptions contextLoaderOptions() {
+        final DocumentLoaderOptions loaderOptions = new DocumentLoaderOptions();
+        loaderOptions.setProfile(ProfileConstants.CONTEXT);
+        loaderOptions.setRequestProfile(Arrays.asList(loaderOptions.getProfile()));
+        return loaderOptions;
+    }
+
+    private static final class PrefetchedLoader implements DocumentLoader {
+        
+        private final Map<URI, Document> documents;
+        
+        private final DocumentLoader loader;
+        
+        PrefetchedLoader(final Map<URI, Document> documents, final DocumentLoader loader) {
+            this.documents = documents;
+            this.loader = loader;
+        }
+
+        @Override
+        public Document loadDocument(final URI url, final DocumentLoaderOptions options) throws JsonLdError {
+            
+            if (options != null && ProfileConstants.CONTEXT.equals(options.getProfile())) {
+                
+                final Document document = documents.get(url);
+                
+                if (document != null) {
+                    return document;
+                }
+            }
+            
+            return loader.loadDocument(url, options);
+        }
+    }
+}
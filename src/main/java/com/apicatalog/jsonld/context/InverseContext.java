@@ -1,56 +1,180 @@
 package com.apicatalog.jsonld.context;
 
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
+/**
+ * An inverse context indexed by (variable, container, type/language, key)
+ * tuples, each entry is found by a single lookup.
+ * <p>
+ * Results of {@link TermSelector} are memoized, values of a document
+ * usually fall into a few shapes, each selecting the same term.
+ * </p>
+ */
 public final class InverseContext {
 
-    private final Map<String, Map<String, Map<String, Map<String, String>>>> context;
-    
+    private final Map<Entry, String> context;
+
+    // (variable, container, type/language) prefixes of the entries
+    private final Set<Entry> selections;
+
+    private final Set<String> variables;
+
+    // memoized term selections, bounded by MAX_MATCHES
+    private final BoundedMemo<Match, Optional<String>> matches;
+
+    private static final int MAX_MATCHES = 4096;
+
     public InverseContext() {
-        this.context = new LinkedHashMap<>();
+        this.context = new HashMap<>();
+        this.selections = new HashSet<>();
+        this.variables = new HashSet<>();
+        this.matches = new BoundedMemo<>(MAX_MATCHES);
     }
-    
-    private void set(final String variable, final String container, final String type, final String key, final String value) {
-        context.computeIfAbsent(variable, x -> new LinkedHashMap<>())
-                .computeIfAbsent(container, x -> new LinkedHashMap<>())
-                .computeIfAbsent(type, x -> new LinkedHashMap<>())                
-                .put(key, value);
+
+    void set(final String variable, final String container, final String type, final String key, final String value) {
+        context.put(new Entry(variable, container, type, key), value);
+        selections.add(new Entry(variable, container, type, null));
+        variables.add(variable);
+        matches.clear();
     }
 
     public boolean doesNotContain(final String variable, final String container, final String type) {
-        return !context.containsKey(variable)
-                || !context.get(variable).containsKey(container)
-                || !context.get(variable).get(container).containsKey(type);        
+        return !selections.contains(new Entry(variable, container, type, null));
     }
-    
+
     public boolean doesNotContain(final String variable, final String container, final String type, final String key) {
-        return doesNotContain(variable, container, type)
-                || !context.get(variable).get(container).get(type).containsKey(key);
+        return !contains(variable, container, type, key);
     }
 
     public boolean contains(final String variable) {
-        return context.containsKey(variable);
+        return variables.contains(variable);
     }
 
     public boolean contains(final String variable, final String container, final String type, final String key) {
-        return contains(variable)
-                    && context.get(variable).containsKey(container)
-                    && context.get(variable).get(container).containsKey(type)
-                    && context.get(variable).get(container).get(type).containsKey(key);
+        return context.containsKey(new Entry(variable, container, type, key));
     }
-    
+
     public void setIfAbsent(final String variable, final String container, final String type, final String key, final String value) {
         if (doesNotContain(variable, container, type, key)) {
             set(variable, container, type, key, value);
         }
     }
-    
+
     public Optional<String> get(final String variable, final String container, final String type, final String key) {
-        if (doesNotContain(variable, container, type, key)) {
-            return Optional.empty();
+        return Optional.ofNullable(context.get(new Entry(variable, container, type, key)));
+    }
+
+    Optional<String> getMatch(final String variable, final Collection<String> containers, final String typeLanguage, final Collection<String> preferredValues) {
+        return matches.get(new Match(variable, toList(containers), typeLanguage, toList(preferredValues)));
+    }
+
+    void setMatch(final String variable, final Collection<String> containers, final String typeLanguage, final Collection<String> preferredValues, final Optional<String> term) {
+        matches.put(new Match(variable, new ArrayList<>(containers), typeLanguage, new ArrayList<>(preferredValues)), term);
+    }
+
+    private static final List<String> toList(final Collection<String> values) {
+        return values instanceof List ? (List<String>) values : new ArrayList<>(values);
+    }
+
+    Map<Entry, String> entries() {
+        return Collections.unmodifiableMap(context);
+    }
+
+    static final class Entry {
+
+        final String variable;
+        final String container;
+        final String type;
+        final String key;
+
+        final int hashCode;
+
+        Entry(final String variable, final String container, final String type, final String key) {
+            this.variable = variable;
+            this.container = container;
+            this.type = type;
+            this.key = key;
+            this.hashCode = ((Objects.hashCode(variable) * 31 + Objects.hashCode(container)) * 31 + Objects.hashCode(type)) * 31 + Objects.hashCode(key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+
+            final Entry other = (Entry) obj;
+
+            return hashCode == other.hashCode
+                    && Objects.equals(variable, other.variable)
+                    && Objects.equals(container, other.container)
+                    && Objects.equals(type, other.type)
+                    && Objects.equals(key, other.key);
+        }
+    }
+
+    /**
+     * A term selection input, containers and preferred values are ordered.
+     */
+    static final class Match {
+
+        final String variable;
+        final List<String> containers;
+        final String typeLanguage;
+        final List<String> preferredValues;
+
+        final int hashCode;
+
+        Match(final String variable, final List<String> containers, final String typeLanguage, final List<String> preferredValues) {
+            this.variable = variable;
+            this.containers = containers;
+            this.typeLanguage = typeLanguage;
+            this.preferredValues = preferredValues;
+            this.hashCode = ((Objects.hashCode(variable) * 31 + containers.hashCode()) * 31 + Objects.hashCode(typeLanguage)) * 31 + preferredValues.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Match)) {
+                return false;
+            }
+
+            final Match other = (Match) obj;
+
+            return hashCode == other.hashCode
+                    && Objects.equals(variable, other.variable)
+                    && Objects.equals(typeLanguage, other.typeLanguage)
+                    && containers.equals(other.containers)
+                    && preferredValues.equals(other.preferredValues);
         }
-        return Optional.ofNullable(context.get(variable).get(container).get(type).get(key));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,175 @@
+package com.apicatalog.jsonld.context;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of terms that can be used as a prefix of a compact IRI, i.e. terms
+ * having the prefix flag set and an IRI mapping.
+ * <p>
+ * IRI mappings are kept in a radix tree, so all terms whose IRI mapping is
+ * a prefix of an IRI are found by a single walk over the IRI, regardless of
+ * the number of terms in a context.
+ * </p>
+ * <p>
+ * An instance is immutable and can be shared between threads.
+ * </p>
+ *
+ * @see <a href="https://www.w3.org/TR/json-ld11-api/#iri-compaction">IRI Compaction</a>
+ */
+public final class PrefixIndex {
+
+    // prefix terms in the order of definition
+    private final List<Map.Entry<String, TermDefinition>> terms;
+
+    private final Node root;
+
+    private PrefixIndex(final List<Map.Entry<String, TermDefinition>> terms, final Node root) {
+        this.terms = terms;
+        this.root = root;
+    }
+
+    static final PrefixIndex create(final Map<String, TermDefinition> definitions) {
+
+        final List<Map.Entry<String, TermDefinition>> terms = new ArrayList<>();
+
+        final Node root = new Node("");
+
+        for (final Map.Entry<String, TermDefinition> definition : definitions.entrySet()) {
+
+            if (definition.getValue().getUriMapping() == null || definition.getValue().isNotPrefix()) {
+                continue;
+            }
+
+            root.put(definition.getValue().getUriMapping(), 0, terms.size());
+
+            terms.add(new AbstractMap.SimpleImmutableEntry<>(definition.getKey(), definition.getValue()));
+        }
+
+        return new PrefixIndex(terms, root);
+    }
+
+    /**
+     * Returns prefix terms whose IRI mapping is a prefix of the given IRI but is
+     * not equal to the IRI.
+     *
+     * @param uri an IRI to compact
+     * @return matching terms in the order of definition
+     */
+    public List<Map.Entry<String, TermDefinition>> find(final String uri) {
+
+        int[] found = null;
+        int count = 0;
+
+        Node node = root;
+        int index = 0;
+
+        while (node != null && index < uri.length()) {
+
+            if (node.terms != null) {
+
+                if (found == null) {
+                    found = node.terms.clone();
+
+                } else {
+                    found = Arrays.copyOf(found, count + node.terms.length);
+                    System.arraycopy(node.terms, 0, found, count, node.terms.length);
+                }
+
+                count += node.terms.length;
+            }
+
+            node = node.children != null ? node.children.get(uri.charAt(index)) : null;
+
+            if (node != null && !uri.startsWith(node.label, index)) {
+                node = null;
+
+            } else if (node != null) {
+                index += node.label.length();
+            }
+        }
+
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+
+        // restore the order of definition
+        Arrays.sort(found, 0, count);
+
+        final List<Map.Entry<String, TermDefinition>> result = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            result.add(terms.get(found[i]));
+        }
+
+        return result;
+    }
+
+    private static final class Node {
+
+        // the edge label leading to the node
+        String label;
+
+        Map<Character, Node> children;
+
+        // indices of terms whose IRI mapping ends in the node
+        int[] terms;
+
+        Node(final String label) {
+            this.label = label;
+        }
+
+        void put(final String key, final int index, final int term) {
+
+            if (index == key.length()) {
+
+                terms = terms == null ? new int[] { term } : Arrays.copyOf(terms, terms.length + 1);
+                terms[terms.length - 1] = term;
+                return;
+            }
+
+            if (children == null) {
+                children = new HashMap<>();
+            }
+
+            Node child = children.get(key.charAt(index));
+
+            if (child == null) {
+                child = new Node(key.substring(index));
+                children.put(key.charAt(index), child);
+                child.put(key, key.length(), term);
+                return;
+            }
+
+            int common = 0;
+
+            while (common < child.label.length()
+                    && index + common < key.length()
+                    && child.label.charAt(common) == key.charAt(index + common)) {
+                common++;
+            }
+
+            // split the edge
+            if (common < child.label.length()) {
+
+                final Node split = new Node(child.label.substring(0, common));
+
+                child.label = child.label.substring(common);
+
+                split.children = new HashMap<>();
+                split.children.put(child.label.charAt(0), child);
+
+                children.put(key.charAt(index), split);
+
+                child = split;
+            }
+
+            child.put(key, index + common, term);
+        }
+    }
+}
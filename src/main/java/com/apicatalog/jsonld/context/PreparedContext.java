@@ -0,0 +1,143 @@
+package com.apicatalog.jsonld.context;
+
+import java.net.URI;
+
+import javax.json.JsonValue;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdErrorCode;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.json.JsonUtils;
+import com.apicatalog.jsonld.lang.Keywords;
+import com.apicatalog.jsonld.lang.Version;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+
+/**
+ * A context processed once and reused by any number of compactions, e.g.
+ * when many documents are compacted or flattened using the same context.
+ * <p>
+ * Holds the processed {@link ActiveContext} together with its inverse context.
+ * An instance is immutable and can be shared between threads.
+ * </p>
+ * <p>
+ * Relative IRIs in the context are resolved against the base IRI given when
+ * the context is prepared and not against the location of a document being compacted.
+ * </p>
+ */
+public final class PreparedContext {
+
+    // the context as it appears in an output
+    private final JsonValue context;
+
+    private final URI base;
+
+    private final Version processingMode;
+
+    private final ActiveContext activeContext;
+
+    private PreparedContext(final JsonValue context, final URI base, final Version processingMode, final ActiveContext activeContext) {
+        this.context = context;
+        this.base = base;
+        this.processingMode = processingMode;
+        this.activeContext = activeContext;
+    }
+
+    /**
+     * Loads and processes the referenced context.
+     *
+     * @param contextUri referencing the context
+     * @param options used to load and to process the context
+     * @return a new prepared context
+     * @throws JsonLdError if the context cannot be loaded or processed
+     */
+    public static final PreparedContext of(final URI contextUri, final JsonLdOptions options) throws JsonLdError {
+
+        if (options.getDocumentLoader() == null) {
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED);
+        }
+
+        final Document contextDocument = options.getDocumentLoader().loadDocument(contextUri, new DocumentLoaderOptions());
+
+        if (contextDocument == null) {
+            throw new JsonLdError(JsonLdErrorCode.INVALID_REMOTE_CONTEXT, "Context[" + contextUri + "] is null.");
+        }
+
+        return of(contextDocument, options);
+    }
+
+    /**
+     * Processes the given context. Relative IRIs are resolved against the base
+     * option or, if not set, the context document location.
+     *
+     * @param context a document representing the context
+     * @param options used to process the context
+     * @return a new prepared context
+     * @throws JsonLdError if the context cannot be processed
+     */
+    public static final PreparedContext of(final Document context, final JsonLdOptions options) throws JsonLdError {
+        return of(context, options.getBase() != null ? options.getBase() : context.getDocumentUrl(), options);
+    }
+
+    /**
+     * Processes the given context.
+     *
+     * @param context a document representing the context
+     * @param base to resolve relative IRIs in the context against, can be <code>null</code>
+     * @param options used to process the context
+     * @return a new prepared context
+     * @throws JsonLdError if the context cannot be processed
+     */
+    public static final PreparedContext of(final Document context, final URI base, final JsonLdOptions options) throws JsonLdError {
+
+        JsonValue contextValue = context.getJsonContent().orElse(JsonValue.EMPTY_JSON_OBJECT);
+
+        if (JsonUtils.isArray(contextValue) && contextValue.asJsonArray().size() == 1) {
+            contextValue = contextValue.asJsonArray().get(0);
+        }
+
+        if (JsonUtils.isObject(contextValue) && contextValue.asJsonObject().containsKey(Keywords.CONTEXT)) {
+            contextValue = contextValue.asJsonObject().get(Keywords.CONTEXT);
+        }
+
+        final ActiveContext processed = new ActiveContext(options).newContext().create(contextValue, base);
+
+        // freeze the terms and create the inverse context to be shared by all copies
+        final ActiveContext activeContext = new ActiveContext(processed, options);
+        activeContext.createInverseContext();
+
+        return new PreparedContext(contextValue, base, options.getProcessingMode(), activeContext);
+    }
+
+    /**
+     * The context as it appears in a compacted document.
+     *
+     * @return the context
+     */
+    public JsonValue getContext() {
+        return context;
+    }
+
+    public URI getBase() {
+        return base;
+    }
+
+    /**
+     * Returns a new active context initialized by this context. The returned
+     * context shares term definitions and the inverse context with this
+     * context and can be modified. The context is processed again if the
+     * given options set a different processing mode.
+     *
+     * @param options to bind the active context to
+     * @return a new active context
+     * @throws JsonLdError if the context cannot be processed
+     */
+    public ActiveContext newActiveContext(final JsonLdOptions options) throws JsonLdError {
+
+        if (processingMode != options.getProcessingMode()) {
+            return new ActiveContext(options).newContext().create(context, base);
+        }
+
+        return new ActiveContext(activeContext, options);
+    }
+}
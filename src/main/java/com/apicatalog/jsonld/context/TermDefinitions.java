@@ -0,0 +1,209 @@
+package com.apicatalog.jsonld.context;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Term definitions of an {@link ActiveContext}.
+ * <p>
+ * A derived instance shares all the definitions of its origin and records
+ * only its own changes. Definitions shared with other instances are
+ * immutable, so deriving costs <code>O(1)</code> and a lookup costs
+ * <code>O(depth)</code>, where the depth is bounded by {@link #MAX_DEPTH}.
+ * </p>
+ * <p>
+ * Definitions are kept in the order of definition, a redefined term is
+ * appended.
+ * </p>
+ * <p>
+ * An instance can be derived and read concurrently, e.g. when a shared context
+ * is used by a parallel expansion, but must not be changed concurrently.
+ * </p>
+ */
+final class TermDefinitions {
+
+    private static final int MAX_DEPTH = 8;
+
+    // marks a definition removed from a shared snapshot
+    private static final TermDefinition REMOVED = new TermDefinition(false, false, false);
+
+    // shared immutable definitions
+    private volatile Snapshot base;
+
+    // own changes, REMOVED marks removed definitions
+    private volatile Map<String, TermDefinition> changes;
+
+    // memoized merged definitions, reset on change
+    private volatile Map<String, TermDefinition> merged;
+
+    TermDefinitions() {
+        this(null);
+    }
+
+    private TermDefinitions(final Snapshot base) {
+        this.base = base;
+        this.changes = new LinkedHashMap<>();
+        this.merged = null;
+    }
+
+    /**
+     * Creates a new instance sharing all definitions with this instance. Pending
+     * changes are frozen into a shared snapshot first, any subsequent change of
+     * either instance is not visible to the other one.
+     *
+     * @return a new instance with the same definitions
+     */
+    synchronized TermDefinitions derive() {
+
+        // the snapshot is published before the changes are reset, a concurrent
+        // reader sees either the pending changes or the snapshot holding them
+        if (!changes.isEmpty()) {
+            base = new Snapshot(base, changes);
+            changes = new LinkedHashMap<>();
+        }
+
+        final Snapshot snapshot = base;
+
+        if (snapshot != null && snapshot.depth >= MAX_DEPTH) {
+            return new TermDefinitions(new Snapshot(null, snapshot.merged()));
+        }
+
+        return new TermDefinitions(snapshot);
+    }
+
+    TermDefinition get(final String term) {
+
+        // changes must be read first, see derive()
+        TermDefinition definition = changes.get(term);
+
+        if (definition == null) {
+
+            Snapshot snapshot = base;
+
+            while (definition == null && snapshot != null) {
+                definition = snapshot.definitions.get(term);
+                snapshot = snapshot.parent;
+            }
+        }
+
+        return definition != REMOVED ? definition : null;
+    }
+
+    boolean contains(final String term) {
+        return get(term) != null;
+    }
+
+    void put(final String term, final TermDefinition definition) {
+        changes.remove(term);
+        changes.put(term, definition);
+        merged = null;
+    }
+
+    TermDefinition remove(final String term) {
+
+        final TermDefinition definition = get(term);
+
+        if (definition == null) {
+            return null;
+        }
+
+        changes.remove(term);
+
+        if (base != null && base.contains(term)) {
+            changes.put(term, REMOVED);
+        }
+
+        merged = null;
+
+        return definition;
+    }
+
+    /**
+     * Returns an unmodifiable view of all definitions in the order of definition.
+     *
+     * @return definitions mapped by terms
+     */
+    Map<String, TermDefinition> asMap() {
+
+        final Map<String, TermDefinition> pending = changes;
+        final Snapshot snapshot = base;
+
+        if (pending.isEmpty()) {
+            return snapshot != null ? snapshot.merged() : Collections.emptyMap();
+        }
+
+        Map<String, TermDefinition> result = merged;
+
+        if (result == null) {
+            result = merge(snapshot != null ? snapshot.merged() : Collections.emptyMap(), pending);
+            merged = result;
+        }
+
+        return result;
+    }
+
+    private static final Map<String, TermDefinition> merge(final Map<String, TermDefinition> definitions, final Map<String, TermDefinition> changes) {
+
+        final Map<String, TermDefinition> result = new LinkedHashMap<>(definitions);
+
+        for (final Map.Entry<String, TermDefinition> change : changes.entrySet()) {
+
+            result.remove(change.getKey());
+
+            if (change.getValue() != REMOVED) {
+                result.put(change.getKey(), change.getValue());
+            }
+        }
+
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static final class Snapshot {
+
+        final Snapshot parent;
+
+        final Map<String, TermDefinition> definitions;
+
+        final int depth;
+
+        volatile Map<String, TermDefinition> merged;
+
+        Snapshot(final Snapshot parent, final Map<String, TermDefinition> definitions) {
+            this.parent = parent;
+            this.definitions = definitions;
+            this.depth = parent != null ? parent.depth + 1 : 0;
+            this.merged = parent == null ? Collections.unmodifiableMap(definitions) : null;
+        }
+
+        boolean contains(final String term) {
+
+            Snapshot snapshot = this;
+
+            while (snapshot != null) {
+
+                final TermDefinition definition = snapshot.definitions.get(term);
+
+                if (definition != null) {
+                    return definition != REMOVED;
+                }
+
+                snapshot = snapshot.parent;
+            }
+
+            return false;
+        }
+
+        Map<String, TermDefinition> merged() {
+
+            Map<String, TermDefinition> result = merged;
+
+            if (result == null) {
+                result = merge(parent.merged(), definitions);
+                merged = result;
+            }
+
+            return result;
+        }
+    }
+}
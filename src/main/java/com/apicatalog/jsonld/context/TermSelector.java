@@ -41,7 +41,19 @@ public final class TermSelector {
 
         // 2. Initialize inverse context to the value of inverse context in active context.
         final InverseContext inverseContext = activeContext.getInverseContext();
-               
+
+        Optional<String> result = inverseContext.getMatch(variable, containers, typeLanguage, preferredValues);
+
+        if (result == null) {
+            result = select(inverseContext, preferredValues);
+            inverseContext.setMatch(variable, containers, typeLanguage, preferredValues, result);
+        }
+
+        return result;
+    }
+
+    private Optional<String> select(final InverseContext inverseContext, final Collection<String> preferredValues) {
+
         // 4. For each item container in containers:
         for (final String container : containers) {
  
@@ -52,8 +64,10 @@ public final class TermSelector {
             for (final String item : preferredValues) {
                 
                 // 4.4.1.
-                if (inverseContext.contains(variable, container, typeLanguage, item)) {
-                    return inverseContext.get(variable, container, typeLanguage, item);
+                final Optional<String> term = inverseContext.get(variable, container, typeLanguage, item);
+                
+                if (term.isPresent()) {
+                    return term;
                 }
             }
         }   
@@ -2,6 +2,7 @@ package com.apicatalog.jsonld.expansion;
 
 import java.net.URI;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.json.Json;
 import javax.json.JsonArray;
@@ -12,6 +13,7 @@ import com.apicatalog.jsonld.api.JsonLdError;
 import com.apicatalog.jsonld.context.ActiveContext;
 import com.apicatalog.jsonld.context.TermDefinition;
 import com.apicatalog.jsonld.json.JsonUtils;
+import com.apicatalog.jsonld.json.ParallelArrays;
 import com.apicatalog.jsonld.lang.Keywords;
 import com.apicatalog.jsonld.lang.ListObject;
 
@@ -73,47 +75,68 @@ public final class ArrayExpansion {
         // 5.1
         final JsonArrayBuilder result = Json.createArrayBuilder();
 
+        final Optional<TermDefinition> definition = activeContext.getTerm(activeProperty);
+
+        final ForkJoinPool pool = activeContext.getOptions().getParallelPool();
+
+        if (pool != null && element.size() >= activeContext.getOptions().getParallelThreshold()) {
+
+            // 5.2.1 in parallel, the expanded items keep the original order
+            for (final JsonValue expanded : ParallelArrays.map(pool, element.size(), index -> expand(element.get(index)))) {
+                append(result, expanded, definition);
+            }
+
+            // 5.3
+            return result.build();
+        }
+
         // 5.2.
         for (final JsonValue item : element) {
 
             // 5.2.1
-            JsonValue expanded = 
-                            Expansion
-                                .with(activeContext, item, activeProperty, baseUrl)
-                                .frameExpansion(frameExpansion)
-                                .ordered(ordered)
-                                .fromMap(fromMap)
-                                .compute();
+            final JsonValue expanded = expand(item);
+
+            append(result, expanded, definition);
+        }
+
+        // 5.3
+        return result.build();
+    }
 
-            final Optional<TermDefinition> definition = activeContext.getTerm(activeProperty);
+    private JsonValue expand(final JsonValue item) throws JsonLdError {
+        return Expansion
+                    .with(activeContext, item, activeProperty, baseUrl)
+                    .frameExpansion(frameExpansion)
+                    .ordered(ordered)
+                    .fromMap(fromMap)
+                    .compute();
+    }
 
-            // 5.2.2
-            if (definition.isPresent() && definition.get().getContainerMapping() != null
-                    && definition.get().getContainerMapping().contains(Keywords.LIST) && JsonUtils.isArray(expanded)) {
+    private static final void append(final JsonArrayBuilder result, JsonValue expanded, final Optional<TermDefinition> definition) {
 
-                expanded = ListObject.toListObject(expanded);
-            }
+        // 5.2.2
+        if (definition.isPresent() && definition.get().getContainerMapping() != null
+                && definition.get().getContainerMapping().contains(Keywords.LIST) && JsonUtils.isArray(expanded)) {
 
-            // 5.2.3
-            if (JsonUtils.isArray(expanded)) {
+            expanded = ListObject.toListObject(expanded);
+        }
 
-                // append array
-                for (JsonValue expandedItem : expanded.asJsonArray()) {
+        // 5.2.3
+        if (JsonUtils.isArray(expanded)) {
 
-                    if (JsonUtils.isNull(expandedItem)) {
-                        continue;
-                    }
+            // append array
+            for (JsonValue expandedItem : expanded.asJsonArray()) {
 
-                    result.add(expandedItem);
+                if (JsonUtils.isNull(expandedItem)) {
+                    continue;
                 }
 
-                // append non-null element
-            } else if (JsonUtils.isNotNull(expanded)) {
-                result.add(expanded);
+                result.add(expandedItem);
             }
-        }
 
-        // 5.3
-        return result.build();
+            // append non-null element
+        } else if (JsonUtils.isNotNull(expanded)) {
+            result.add(expanded);
+        }
     }
 }
@@ -88,6 +88,29 @@ public final class UriExpansion {
             return null;
         }
 
+        // the result depends on the active context only if no term is being defined
+        final boolean cacheable = localContext == null;
+
+        if (cacheable) {
+
+            final String cached = activeContext.getExpandedUri(value, vocab, documentRelative);
+
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final String result = expandValue(value);
+
+        if (cacheable && result != null) {
+            activeContext.setExpandedUri(value, vocab, documentRelative, result);
+        }
+
+        return result;
+    }
+
+    private String expandValue(final String value) throws JsonLdError {
+
         initLocalContext(value);
         
         Optional<TermDefinition> definition = activeContext.getTerm(value); 
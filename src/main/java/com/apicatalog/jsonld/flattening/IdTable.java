@@ -0,0 +1,127 @@
+package com.apicatalog.jsonld.flattening;
+
+import java.util.Arrays;
+
+/**
+ * Interns strings to consecutive <code>int</code> identifiers, starting with
+ * <code>0</code> in the order of interning.
+ * <p>
+ * Strings are kept in an array and looked up in an open addressing table of
+ * identifiers, no object is allocated per an interned string.
+ * </p>
+ */
+final class IdTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private String[] names;
+
+    // identifiers incremented by one, 0 marks an empty slot
+    private int[] slots;
+
+    private int size;
+
+    IdTable() {
+        this.names = new String[INITIAL_CAPACITY];
+        this.slots = new int[INITIAL_CAPACITY * 2];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the identifier of the given string.
+     *
+     * @param name the string to find
+     * @return the identifier or <code>-1</code> if the string is not interned
+     */
+    int find(final String name) {
+
+        final int mask = slots.length - 1;
+
+        int slot = hash(name) & mask;
+
+        while (slots[slot] != 0) {
+
+            final int id = slots[slot] - 1;
+
+            if (names[id].equals(name)) {
+                return id;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the identifier of the given string, a new identifier is assigned
+     * if the string is not interned yet.
+     *
+     * @param name the string to intern
+     * @return the identifier
+     */
+    int intern(final String name) {
+
+        final int mask = slots.length - 1;
+
+        int slot = hash(name) & mask;
+
+        while (slots[slot] != 0) {
+
+            final int id = slots[slot] - 1;
+
+            if (names[id].equals(name)) {
+                return id;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        final int id = size++;
+
+        if (id == names.length) {
+            names = Arrays.copyOf(names, names.length * 2);
+        }
+
+        names[id] = name;
+        slots[slot] = id + 1;
+
+        // keep the load factor at most 0.5
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+
+        return id;
+    }
+
+    String name(final int id) {
+        return names[id];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash() {
+
+        slots = new int[slots.length * 2];
+
+        final int mask = slots.length - 1;
+
+        for (int id = 0; id < size; id++) {
+
+            int slot = hash(names[id]) & mask;
+
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            slots[slot] = id + 1;
+        }
+    }
+
+    private static final int hash(final String name) {
+        final int hash = name.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -1,11 +1,17 @@
 package com.apicatalog.jsonld.flattening;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 import javax.json.Json;
 import javax.json.JsonArrayBuilder;
@@ -15,22 +21,55 @@ import javax.json.JsonValue;
 import com.apicatalog.jsonld.json.JsonUtils;
 import com.apicatalog.jsonld.lang.Keywords;
 
+/**
+ * A node map, nodes indexed by graph names and subjects.
+ * <p>
+ * Graph names, subjects and properties are interned to <code>int</code>
+ * identifiers, a subject shared by several graphs is kept once. A graph is an
+ * open addressing table of nodes and a node keeps its properties and values
+ * in arrays, so no map entry is allocated per a node or a value.
+ * </p>
+ * <p>
+ * Graphs, subjects and properties are kept in the order of insertion.
+ * </p>
+ *
+ * @see <a href="https://www.w3.org/TR/json-ld11-api/#node-map-generation">Node Map Generation</a>
+ */
 public final class NodeMap {
 
-    private final Map<String, Map<String, Map<String, JsonValue>>> index;
-    
-    private final BlankNodeIdGenerator generator = new BlankNodeIdGenerator();
-    
+    private final IdTable graphNames;
+
+    // graphs indexed by graph name identifiers
+    private Graph[] graphs;
+
+    private final IdTable subjects;
+
+    private final IdTable properties;
+
+    private final BlankNodeIdGenerator generator;
+
     public NodeMap() {
-        this.index = new LinkedHashMap<>();
-        this.index.put(Keywords.DEFAULT, new LinkedHashMap<>());
+        this(new BlankNodeIdGenerator());
     }
-    
+
+    /**
+     * Creates an empty node map using the given generator, i.e. sharing blank node identifiers
+     * with other node maps using the same generator.
+     *
+     * @param generator used to create blank node identifiers
+     */
+    public NodeMap(final BlankNodeIdGenerator generator) {
+        this.graphNames = new IdTable();
+        this.graphs = new Graph[4];
+        this.subjects = new IdTable();
+        this.properties = new IdTable();
+        this.generator = generator;
+
+        graph(Keywords.DEFAULT, true);
+    }
+
     public boolean doesNotContain(String graphName, String subject, String property) {
-        return !index.containsKey(graphName) 
-                    || !index.get(graphName).containsKey(subject)
-                    || !index.get(graphName).get(subject).containsKey(property)
-                    ;
+        return get(graphName, subject, property) == null;
     }
 
     public void set(String graphName, String subject, String property, JsonValue value) {
@@ -38,50 +77,65 @@ public final class NodeMap {
         if (subject == null) {
             return;
         }
-        
-        index
-            .computeIfAbsent(graphName, x -> new LinkedHashMap<>())
-            .computeIfAbsent(subject, x -> new LinkedHashMap<>())
-            .put(property, value);
+
+        graph(graphName, true)
+            .node(subjects.intern(subject), true)
+            .put(properties.intern(property), value);
     }
 
     public JsonValue get(String graphName, String subject, String property) {
-        
-        if (index.containsKey(graphName) && index.get(graphName).containsKey(subject)) {
-            return index.get(graphName).get(subject).get(property);
+
+        final Node node = node(graphName, subject);
+
+        if (node == null) {
+            return null;
         }
-        
-        return null;
+
+        final int propertyId = properties.find(property);
+
+        return propertyId != -1 ? node.get(propertyId) : null;
     }
-    
+
+    /**
+     * Returns an unmodifiable view of the node.
+     *
+     * @param graphName the graph name
+     * @param subject the node subject
+     * @return the node properties or <code>null</code> if there is no such node
+     */
     public Map<String, JsonValue> get(String graphName, String subject) {
-        
-        if (index.containsKey(graphName)) {
-            return index.get(graphName).get(subject);
-        }
-        
-        return null;
+
+        final Node node = node(graphName, subject);
+
+        return node != null ? new NodeView(node) : null;
     }
 
     public boolean doesNotContain(String graphName, String subject) {
-        return !index.containsKey(graphName) 
-                || !index.get(graphName).containsKey(subject)
-                ;
+        return node(graphName, subject) == null;
     }
 
+    /**
+     * Returns a new map of nodes in the given graph, each node is copied into
+     * a {@link JsonObject}.
+     *
+     * @param graphName the graph name
+     * @return nodes mapped by subjects or <code>null</code> if there is no such graph
+     */
     public Map<String, JsonObject> get(String graphName) {
-        
-        if (!index.containsKey(graphName)) {
+
+        final Graph graph = graph(graphName, false);
+
+        if (graph == null) {
             return null;
         }
 
-        return index
-                    .get(graphName)
-                    .entrySet()
-                    .stream()
-                    .map(e -> new Object[] {e.getKey(), JsonUtils.toJsonObject(e.getValue())})
-                    .collect(Collectors.toMap(e -> (String)e[0], e -> (JsonObject)e[1]))                    
-                    ;
+        final Map<String, JsonObject> result = new LinkedHashMap<>(graph.size * 2);
+
+        for (int index = 0; index < graph.size; index++) {
+            result.put(subjects.name(graph.nodes[index].subject), JsonUtils.toJsonObject(new NodeView(graph.nodes[index])));
+        }
+
+        return result;
     }
 
     public String createIdentifier(String name) {
@@ -93,91 +147,401 @@ public final class NodeMap {
     }
 
     public Collection<String> graphs(boolean sorted) {
-        return sorted 
-                    ? index.keySet().stream().sorted().collect(Collectors.toList())
-                    : index.keySet()
-                    ;
+
+        final List<String> result = new ArrayList<>(graphNames.size());
+
+        for (int id = 0; id < graphNames.size(); id++) {
+            result.add(graphNames.name(id));
+        }
+
+        if (sorted) {
+            Collections.sort(result);
+        }
+
+        return result;
     }
 
     public Collection<String> subjects(String graphName) {
         return subjects(graphName, false);
     }
-    
+
     public Collection<String> subjects(String graphName, boolean sorted) {
-        return sorted 
-                ? index.getOrDefault(graphName, Collections.emptyMap()).keySet().stream().sorted().collect(Collectors.toList())
-                : index.getOrDefault(graphName, Collections.emptyMap()).keySet()
-                ;
+
+        final Graph graph = graph(graphName, false);
+
+        if (graph == null) {
+            return Collections.emptyList();
+        }
+
+        final List<String> result = new ArrayList<>(graph.size);
+
+        for (int index = 0; index < graph.size; index++) {
+            result.add(subjects.name(graph.nodes[index].subject));
+        }
+
+        if (sorted) {
+            Collections.sort(result);
+        }
+
+        return result;
     }
 
     public Collection<String> properties(String graphName, String subject, boolean sorted) {
-        return sorted 
-                ? index.getOrDefault(graphName, Collections.emptyMap()).getOrDefault(subject, Collections.emptyMap()).keySet().stream().sorted().collect(Collectors.toList())
-                : index.getOrDefault(graphName, Collections.emptyMap()).getOrDefault(subject, Collections.emptyMap()).keySet()
-                ;
+
+        final Node node = node(graphName, subject);
+
+        if (node == null) {
+            return Collections.emptyList();
+        }
+
+        final List<String> result = new ArrayList<>(node.size);
+
+        for (int index = 0; index < node.size; index++) {
+            result.add(properties.name(node.properties[index]));
+        }
+
+        if (sorted) {
+            Collections.sort(result);
+        }
+
+        return result;
     }
-    
+
     /**
-     * 
+     *
      * @see <a href="https://www.w3.org/TR/json-ld11-api/#merge-node-maps">Merge Node Maps</a>
      */
     public void merge() {
-        
+
         // 1.
-        final NodeMap result = new NodeMap();
- 
+        final Graph result = new Graph();
+
+        final int typeId = properties.intern(Keywords.TYPE);
+        final int idId = properties.intern(Keywords.ID);
+
         // 2.
-        for (final Map.Entry<String, Map<String, Map<String, JsonValue>>> graphEntry : index.entrySet()) {
-            
-            for (final Map.Entry<String, Map<String, JsonValue>> subject : graphEntry.getValue().entrySet()) {
-             
+        for (int graphId = 0; graphId < graphNames.size(); graphId++) {
+
+            final Graph graph = graphs[graphId];
+
+            for (int index = 0; index < graph.size; index++) {
+
+                final Node subject = graph.nodes[index];
+
+                Node merged = result.node(subject.subject, false);
+
                 // 2.1.
-                if (result.doesNotContain(Keywords.MERGED, subject.getKey())) {
-                    result.set(Keywords.MERGED, subject.getKey(), Keywords.ID, Json.createValue(subject.getKey()));
+                if (merged == null) {
+                    merged = result.node(subject.subject, true);
+                    merged.put(idId, Json.createValue(subjects.name(subject.subject)));
                 }
-                                
+
                 // 2.2.
-                for (final Map.Entry<String, JsonValue> property : subject.getValue().entrySet()) {
-                
+                for (int property = 0; property < subject.size; property++) {
+
+                    final int propertyId = subject.properties[property];
+
                     // 2.2.1.
-                    if (!Keywords.TYPE.equals(property.getKey())
-                            && Keywords.matchForm(property.getKey()) 
+                    if (propertyId != typeId
+                            && Keywords.matchForm(properties.name(propertyId))
                             ) {
-                        
-                        result.set(Keywords.MERGED, subject.getKey(), property.getKey(), property.getValue());
-                        
+
+                        merged.put(propertyId, subject.values[property]);
+
                     } else {
-                        
-                        final JsonArrayBuilder array;
-                        
-                        if (result.doesNotContain(Keywords.MERGED, subject.getKey(), property.getKey())) {
-                            array = Json.createArrayBuilder();
-                            
-                        } else {
-                            array = Json.createArrayBuilder(JsonUtils.toJsonArray(result.get(Keywords.MERGED, subject.getKey(), property.getKey())));
-                        }
-                        
-                        JsonUtils.toJsonArray(property.getValue()).forEach(array::add);
-                        
-                        result.set(Keywords.MERGED, subject.getKey(), property.getKey(), array.build());
+
+                        final JsonValue existing = merged.get(propertyId);
+
+                        final JsonArrayBuilder array = existing == null
+                                                            ? Json.createArrayBuilder()
+                                                            : Json.createArrayBuilder(JsonUtils.toJsonArray(existing));
+
+                        JsonUtils.toJsonArray(subject.values[property]).forEach(array::add);
+
+                        merged.put(propertyId, array.build());
                     }
-                    
                 }
-                
             }
         }
-        
-        if (result.index.get(Keywords.MERGED) != null) {
-            index.put(Keywords.MERGED, result.index.get(Keywords.MERGED));
+
+        if (result.size > 0) {
+
+            final int mergedId = graphNames.intern(Keywords.MERGED);
+
+            ensureGraphCapacity(mergedId);
+
+            graphs[mergedId] = result;
         }
     }
 
     public boolean contains(String id) {
-        return index.containsKey(id);
+        return graphNames.find(id) != -1;
     }
-    
+
     @Override
     public String toString() {
-        return Objects.toString(index);
+
+        final Map<String, Map<String, Map<String, JsonValue>>> result = new LinkedHashMap<>();
+
+        for (int graphId = 0; graphId < graphNames.size(); graphId++) {
+
+            final Map<String, Map<String, JsonValue>> graph = new LinkedHashMap<>();
+
+            for (int index = 0; index < graphs[graphId].size; index++) {
+                graph.put(subjects.name(graphs[graphId].nodes[index].subject), new NodeView(graphs[graphId].nodes[index]));
+            }
+
+            result.put(graphNames.name(graphId), graph);
+        }
+
+        return result.toString();
+    }
+
+    private Graph graph(final String graphName, final boolean create) {
+
+        if (!create) {
+            final int graphId = graphNames.find(graphName);
+            return graphId != -1 ? graphs[graphId] : null;
+        }
+
+        final int graphId = graphNames.intern(graphName);
+
+        ensureGraphCapacity(graphId);
+
+        if (graphs[graphId] == null) {
+            graphs[graphId] = new Graph();
+        }
+
+        return graphs[graphId];
+    }
+
+    private void ensureGraphCapacity(final int graphId) {
+        if (graphId >= graphs.length) {
+            graphs = Arrays.copyOf(graphs, Math.max(graphs.length * 2, graphId + 1));
+        }
+    }
+
+    private Node node(final String graphName, final String subject) {
+
+        final Graph graph = graph(graphName, false);
+
+        if (graph == null) {
+            return null;
+        }
+
+        final int subjectId = subjects.find(subject);
+
+        return subjectId != -1 ? graph.node(subjectId, false) : null;
+    }
+
+    /**
+     * Nodes of a graph in the order of insertion, indexed by subject identifiers.
+     */
+    private static final class Graph {
+
+        Node[] nodes;
+
+        int size;
+
+        // node indices incremented by one, 0 marks an empty slot
+        int[] slots;
+
+        Graph() {
+            this.nodes = new Node[8];
+            this.size = 0;
+            this.slots = new int[16];
+        }
+
+        Node node(final int subject, final boolean create) {
+
+            final int mask = slots.length - 1;
+
+            int slot = hash(subject) & mask;
+
+            while (slots[slot] != 0) {
+
+                final Node node = nodes[slots[slot] - 1];
+
+                if (node.subject == subject) {
+                    return node;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            if (!create) {
+                return null;
+            }
+
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+            }
+
+            final Node node = new Node(subject);
+
+            nodes[size++] = node;
+            slots[slot] = size;
+
+            // keep the load factor at most 0.5
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+
+            return node;
+        }
+
+        private void rehash() {
+
+            slots = new int[slots.length * 2];
+
+            final int mask = slots.length - 1;
+
+            for (int index = 0; index < size; index++) {
+
+                int slot = hash(nodes[index].subject) & mask;
+
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+
+                slots[slot] = index + 1;
+            }
+        }
+
+        private static final int hash(final int subject) {
+            final int hash = subject * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * Node properties and values in the order of insertion. A node has
+     * a few properties, a property is found by a linear scan.
+     */
+    private static final class Node {
+
+        final int subject;
+
+        int[] properties;
+
+        JsonValue[] values;
+
+        int size;
+
+        Node(final int subject) {
+            this.subject = subject;
+            this.properties = new int[4];
+            this.values = new JsonValue[4];
+            this.size = 0;
+        }
+
+        JsonValue get(final int property) {
+
+            final int index = indexOf(property);
+
+            return index != -1 ? values[index] : null;
+        }
+
+        void put(final int property, final JsonValue value) {
+
+            final int index = indexOf(property);
+
+            if (index != -1) {
+                values[index] = value;
+                return;
+            }
+
+            if (size == properties.length) {
+                properties = Arrays.copyOf(properties, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            properties[size] = property;
+            values[size] = value;
+            size++;
+        }
+
+        int indexOf(final int property) {
+
+            for (int index = 0; index < size; index++) {
+                if (properties[index] == property) {
+                    return index;
+                }
+            }
+
+            return -1;
+        }
+    }
+
+    /**
+     * An unmodifiable map view of a node.
+     */
+    private final class NodeView extends AbstractMap<String, JsonValue> {
+
+        private final Node node;
+
+        NodeView(final Node node) {
+            this.node = node;
+        }
+
+        @Override
+        public JsonValue get(final Object key) {
+
+            if (!(key instanceof String)) {
+                return null;
+            }
+
+            final int property = properties.find((String) key);
+
+            return property != -1 ? node.get(property) : null;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return node.size;
+        }
+
+        @Override
+        public Set<Entry<String, JsonValue>> entrySet() {
+            return new AbstractSet<>() {
+
+                @Override
+                public Iterator<Entry<String, JsonValue>> iterator() {
+                    return new Iterator<>() {
+
+                        int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < node.size;
+                        }
+
+                        @Override
+                        public Entry<String, JsonValue> next() {
+
+                            if (index >= node.size) {
+                                throw new NoSuchElementException();
+                            }
+
+                            final Entry<String, JsonValue> entry = new SimpleImmutableEntry<>(properties.name(node.properties[index]), node.values[index]);
+
+                            index++;
+
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return node.size;
+                }
+            };
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.apicatalog.jsonld.framing;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 import javax.json.JsonObject;
@@ -262,14 +263,13 @@ public final class Frame {
             return false;
         }
         
-        JsonValue valueObject = state.getGraphMap().get(state.getGraphName())
-                .get(value.asJsonObject().getString(Keywords.ID));
+        final Map<String, JsonValue> valueObject = state.getGraphMap().get(state.getGraphName(), value.asJsonObject().getString(Keywords.ID));
      
-        if (JsonUtils.isNotObject(valueObject)) {
+        if (valueObject == null) {
             return false;
         }
         
-        return FrameMatcher.with(state, this, requireAll).match(valueObject.asJsonObject());
+        return FrameMatcher.with(state, this, requireAll).match(valueObject);
     }
 
     public boolean isListObject() {
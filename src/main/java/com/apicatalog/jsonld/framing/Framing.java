@@ -162,7 +162,7 @@ public final class Framing {
                     
                     Framing.with(
                                 graphState, 
-                                List.copyOf(state.getGraphMap().get(id).keySet()), 
+                                List.copyOf(state.getGraphMap().subjects(id)), 
                                 subframe, 
                                 output, 
                                 Keywords.GRAPH
@@ -349,7 +349,7 @@ public final class Framing {
                       
                         final JsonValue subframe = reverseObject.asJsonObject().get(reverseProperty);
                         
-                        for (final String subjectProperty : state.getGraphMap().get(state.getGraphName()).keySet()) {
+                        for (final String subjectProperty : state.getGraphMap().subjects(state.getGraphName())) {
                          
                             final JsonValue nodeValues = state.getGraphMap().get(state.getGraphName(), subjectProperty, reverseProperty);
 
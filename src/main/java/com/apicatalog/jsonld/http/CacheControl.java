@@ -0,0 +1,119 @@
+package com.apicatalog.jsonld.http;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.OptionalLong;
+
+/**
+ * Response <code>Cache-Control</code> directives relevant to a private cache.
+ * 
+ * @see <a href="https://tools.ietf.org/html/rfc7234#section-5.2">Cache-Control</a>
+ *
+ */
+public final class CacheControl {
+
+    public static final CacheControl EMPTY = new CacheControl(false, false, -1);
+
+    /**
+     * The greatest delta-seconds value, a greater value is treated as this value.
+     * 
+     * @see <a href="https://tools.ietf.org/html/rfc7234#section-1.2.1">Delta Seconds</a>
+     */
+    public static final long MAX_DELTA_SECONDS = 2147483648L;
+    
+    private static final String NO_STORE = "no-store";
+    private static final String NO_CACHE = "no-cache";
+    private static final String MAX_AGE = "max-age";
+    
+    private final boolean noStore;
+    private final boolean noCache;
+    private final long maxAge;
+    
+    private CacheControl(final boolean noStore, final boolean noCache, final long maxAge) {
+        this.noStore = noStore;
+        this.noCache = noCache;
+        this.maxAge = maxAge;
+    }
+    
+    /**
+     * Parse <code>Cache-Control</code> header values. Unknown and malformed directives are ignored.
+     * 
+     * @param values header values, can be empty
+     * @return parsed directives, never <code>null</code>
+     */
+    public static final CacheControl of(final Collection<String> values) {
+        
+        if (values == null || values.isEmpty()) {
+            return EMPTY;
+        }
+        
+        boolean noStore = false;
+        boolean noCache = false;
+        long maxAge = -1;
+        
+        for (final String value : values) {
+            for (final String directive : value.split(",")) {
+                
+                final int eq = directive.indexOf('=');
+                
+                final String name = (eq == -1 ? directive : directive.substring(0, eq)).strip().toLowerCase(Locale.ROOT);
+                
+                if (NO_STORE.equals(name)) {
+                    noStore = true;
+                    
+                } else if (NO_CACHE.equals(name)) {
+                    noCache = true;
+                    
+                } else if (MAX_AGE.equals(name) && eq != -1) {
+                    
+                    final long seconds = parseSeconds(directive.substring(eq + 1));
+                    
+                    if (seconds >= 0 && (maxAge == -1 || seconds < maxAge)) {
+                        maxAge = seconds;
+                    }
+                }
+            }
+        }
+        
+        return new CacheControl(noStore, noCache, maxAge);
+    }
+    
+    /**
+     * Parse delta-seconds value.
+     * 
+     * @param value to parse, optionally quoted
+     * @return number of seconds, at most {@link #MAX_DELTA_SECONDS}, or <code>-1</code> if the value is not valid  
+     */
+    public static final long parseSeconds(final String value) {
+        
+        String seconds = value.strip();
+        
+        if (seconds.length() > 1 && seconds.charAt(0) == '"' && seconds.charAt(seconds.length() - 1) == '"') {
+            seconds = seconds.substring(1, seconds.length() - 1);
+        }
+        
+        if (seconds.isEmpty() || !seconds.chars().allMatch(HttpAlphabet.DIGIT)) {
+            return -1;
+        }
+        
+        try {
+            return Math.min(Long.parseLong(seconds), MAX_DELTA_SECONDS);
+            
+        } catch (NumberFormatException e) {
+            // too big, treat it as an infinity
+            return MAX_DELTA_SECONDS;
+        }
+    }
+
+    public boolean isNoStore() {
+        return noStore;
+    }
+
+    public boolean isNoCache() {
+        return noCache;
+    }
+
+    public OptionalLong maxAge() {
+        return maxAge >= 0 ? OptionalLong.of(maxAge) : OptionalLong.empty(); 
+    }
+}
@@ -0,0 +1,166 @@
+package com.apicatalog.jsonld.json;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+
+/**
+ * A mutable JSON object used to build an intermediate result of an algorithm.
+ * <p>
+ * Values added to an entry are appended in place and nested objects are
+ * modified in place, a {@link JsonObject} is built once by {@link #build()}.
+ * </p>
+ */
+public final class JsonMapBuilder {
+
+    // JsonValue, List<JsonValue> or JsonMapBuilder
+    private final Map<String, Object> map;
+
+    private JsonMapBuilder(final Map<String, Object> map) {
+        this.map = map;
+    }
+
+    public static final JsonMapBuilder create() {
+        return new JsonMapBuilder(new LinkedHashMap<>());
+    }
+
+    public static final JsonMapBuilder create(final JsonObject object) {
+        return new JsonMapBuilder(new LinkedHashMap<>(object));
+    }
+
+    public boolean containsKey(final String key) {
+        return map.containsKey(key);
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public void put(final String key, final JsonValue value) {
+        map.put(key, value);
+    }
+
+    /**
+     * Returns a nested object that can be modified in place. An absent entry is
+     * set to a new empty object.
+     *
+     * @param key the entry key
+     * @return the nested object
+     * @throws ClassCastException if the entry is not an object
+     */
+    public JsonMapBuilder getMapBuilder(final String key) {
+
+        final Object value = map.get(key);
+
+        if (value instanceof JsonMapBuilder) {
+            return (JsonMapBuilder) value;
+        }
+
+        final JsonMapBuilder builder = value != null
+                                            ? create(((JsonValue) value).asJsonObject())
+                                            : create();
+
+        map.put(key, builder);
+
+        return builder;
+    }
+
+    /**
+     * Adds the value to the entry.
+     *
+     * @see JsonUtils#addValue(Map, String, JsonValue, boolean)
+     *
+     * @param key the entry key
+     * @param value to add
+     * @param asArray if <code>true</code> the entry value is always an array
+     */
+    public void add(final String key, final JsonValue value, final boolean asArray) {
+
+        // 1.
+        if (asArray) {
+            toList(key);
+        }
+
+        // 2.
+        if (JsonUtils.isArray(value)) {
+
+            for (final JsonValue item : value.asJsonArray()) {
+                add(key, item, asArray);
+            }
+
+        // 3.1
+        } else if (!map.containsKey(key)) {
+            map.put(key, value);
+
+        // 3.2
+        } else {
+            toList(key).add(value);
+        }
+    }
+
+    public JsonObject build() {
+
+        final JsonObjectBuilder builder = Json.createObjectBuilder();
+
+        for (final Map.Entry<String, Object> entry : map.entrySet()) {
+            builder.add(entry.getKey(), toJsonValue(entry.getValue()));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Converts the entry value, if any, to a mutable array.
+     */
+    @SuppressWarnings("unchecked")
+    private List<JsonValue> toList(final String key) {
+
+        final Object value = map.get(key);
+
+        if (value instanceof List) {
+            return (List<JsonValue>) value;
+        }
+
+        final List<JsonValue> list = new ArrayList<>();
+
+        if (value instanceof JsonMapBuilder) {
+            list.add(((JsonMapBuilder) value).build());
+
+        } else if (JsonUtils.isArray((JsonValue) value)) {
+            list.addAll(((JsonValue) value).asJsonArray());
+
+        } else if (value != null) {
+            list.add((JsonValue) value);
+        }
+
+        map.put(key, list);
+
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final JsonValue toJsonValue(final Object value) {
+
+        if (value instanceof JsonMapBuilder) {
+            return ((JsonMapBuilder) value).build();
+        }
+
+        if (value instanceof List) {
+
+            final JsonArrayBuilder builder = Json.createArrayBuilder();
+
+            ((List<JsonValue>) value).forEach(builder::add);
+
+            return builder.build();
+        }
+
+        return (JsonValue) value;
+    }
+}
@@ -0,0 +1,137 @@
+package com.apicatalog.jsonld.json;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+import javax.json.JsonValue;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+
+/**
+ * Maps array indices to values in parallel, using a {@link ForkJoinPool}. 
+ * The index range is split in halves until a range is not greater than a given granularity.
+ */
+public final class ParallelArrays {
+
+    private ParallelArrays() {
+    }
+
+    @FunctionalInterface
+    public interface IndexMapper {
+        
+        JsonValue apply(int index) throws JsonLdError;
+        
+    }
+    
+    /**
+     * Maps indices <code>0</code> to <code>size - 1</code> in parallel, splitting them into about four ranges 
+     * per a worker.
+     * 
+     * @param pool a pool to map the indices by
+     * @param size the number of indices
+     * @param mapper a function mapping an index to a value
+     * @return the values in the order of the indices
+     * @throws JsonLdError the first error thrown by the mapper
+     */
+    public static final JsonValue[] map(final ForkJoinPool pool, final int size, final IndexMapper mapper) throws JsonLdError {
+        return map(pool, Math.max(1, size / (4 * pool.getParallelism())), size, mapper);
+    }
+
+    /**
+     * Maps indices <code>0</code> to <code>size - 1</code> in parallel. A nested call is forked within the pool 
+     * an enclosing call is processed by.
+     * 
+     * @param pool a pool to map the indices by
+     * @param granularity the greatest number of indices mapped by a single task
+     * @param size the number of indices
+     * @param mapper a function mapping an index to a value
+     * @return the values in the order of the indices
+     * @throws JsonLdError the first error thrown by the mapper
+     */
+    public static final JsonValue[] map(final ForkJoinPool pool, final int granularity, final int size, final IndexMapper mapper) throws JsonLdError {
+
+        if (granularity < 1) {
+            throw new IllegalArgumentException("The granularity must be greater than zero but was [" + granularity + "].");
+        }
+        
+        final JsonValue[] values = new JsonValue[size];
+
+        final MapTask task = new MapTask(mapper, values, 0, size, granularity);
+
+        try {
+            if (ForkJoinTask.inForkJoinPool() && ((ForkJoinWorkerThread) Thread.currentThread()).getPool() == pool) {
+                task.invoke();
+
+            } else {
+                pool.invoke(task);
+            }
+
+        } catch (CompletionException e) {
+
+            // an exception thrown by another worker is wrapped again
+            Throwable cause = e;
+
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+
+            if (cause instanceof JsonLdError) {
+                throw (JsonLdError) cause;
+            }
+
+            throw e;
+        }
+
+        return values;
+    }
+
+    private static final class MapTask extends RecursiveAction {
+
+        private static final long serialVersionUID = -3419406375453623419L;
+
+        private final IndexMapper mapper;
+        
+        private final JsonValue[] values;
+
+        private final int from;
+        private final int to;
+
+        private final int granularity;
+
+        MapTask(final IndexMapper mapper, final JsonValue[] values, final int from, final int to, final int granularity) {
+            this.mapper = mapper;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (to - from <= granularity) {
+
+                try {
+                    for (int index = from; index < to; index++) {
+                        values[index] = mapper.apply(index);
+                    }
+
+                } catch (JsonLdError e) {
+                    throw new CompletionException(e);
+                }
+
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+
+            invokeAll(
+                new MapTask(mapper, values, from, middle, granularity),
+                new MapTask(mapper, values, middle, to, granularity)
+                );
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.apicatalog.jsonld.lang;
 
-import java.util.stream.IntStream;
-
 import com.apicatalog.rdf.lang.RdfAlphabet;
 
 /**
@@ -38,21 +36,32 @@ public final class BlankNode {
             return false;
         }
 
-        int[] chars = blankNodeId.codePoints().toArray();
+        if (blankNodeId.charAt(0) != '_' 
+                || blankNodeId.charAt(1) != ':'
+                || blankNodeId.charAt(blankNodeId.length() - 1) == '.'
+                )  {
+            return false;
+        }
+
+        final int first = blankNodeId.codePointAt(2);
 
-        if (chars[0] != '_' 
-                || chars[1] != ':' 
-                || (RdfAlphabet.PN_CHARS_U.negate().test(chars[2])
-                        && RdfAlphabet.ASCII_DIGIT.negate().test(chars[2]))
-                || chars[chars.length - 1] == '.'
-                        )  {
+        if (!RdfAlphabet.PN_CHARS_U.test(first) && !RdfAlphabet.ASCII_DIGIT.test(first)) {
             return false;
         }
-        
-        if (chars.length == 3) {
-            return true;
+
+        final int last = blankNodeId.offsetByCodePoints(blankNodeId.length(), -1);
+
+        for (int index = 2 + Character.charCount(first); index < last; ) {
+
+            final int ch = blankNodeId.codePointAt(index);
+
+            if (ch != '.' && !RdfAlphabet.PN_CHARS.test(ch)) {
+                return false;
+            }
+
+            index += Character.charCount(ch);
         }
-        
-        return IntStream.range(3, chars.length - 1).map(i -> chars[i]).allMatch(RdfAlphabet.PN_CHARS.or(ch -> ch == '.'));        
+
+        return true;
     }
 }
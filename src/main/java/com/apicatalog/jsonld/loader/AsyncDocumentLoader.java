@@ -0,0 +1,88 @@
+package com.apicatalog.jsonld.loader;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.document.Document;
+
+/**
+ * The {@link AsyncDocumentLoader} is a non-blocking variant of {@link DocumentLoader}. 
+ * The returned {@link CompletableFuture} resolves to the loaded {@link Document} 
+ * or completes exceptionally with {@link JsonLdError} having an appropriate error code.
+ * 
+ * @see <a href=
+ *      "https://www.w3.org/TR/json-ld11-api/#loaddocumentcallback">LoadDocumentCallback
+ *      Specification</a>
+ *
+ */
+public interface AsyncDocumentLoader {
+
+    CompletableFuture<Document> loadDocumentAsync(URI url, DocumentLoaderOptions options);
+
+    /**
+     * Load a document, blocking loaders wrapped by this loader are called by the given executor.
+     * The executor is ignored by default. 
+     * 
+     * @param url the document URL
+     * @param options the loader options
+     * @param executor to call wrapped blocking loaders with, or <code>null</code> to call them by the calling thread
+     * @return the loaded document
+     */
+    default CompletableFuture<Document> loadDocumentAsync(URI url, DocumentLoaderOptions options, Executor executor) {
+        return loadDocumentAsync(url, options);
+    }
+
+    /**
+     * Adapt a blocking {@link DocumentLoader}. The document is loaded by the calling thread
+     * unless the given loader is {@link AsyncDocumentLoader} already.
+     * 
+     * @param loader to adapt
+     * @return {@link AsyncDocumentLoader} instance
+     */
+    static AsyncDocumentLoader of(final DocumentLoader loader) {
+        
+        if (loader instanceof AsyncDocumentLoader) {
+            return (AsyncDocumentLoader) loader;
+        }
+        
+        return (url, options) -> {
+            try {
+                return CompletableFuture.completedFuture(loader.loadDocument(url, options));
+                
+            } catch (JsonLdError e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        };
+    }
+
+    /**
+     * Adapt a blocking {@link DocumentLoader}. The document is loaded by the given executor
+     * unless the given loader is {@link AsyncDocumentLoader} already.
+     * 
+     * @param loader to adapt
+     * @param executor to load documents with, or <code>null</code> to load them by the calling thread
+     * @return {@link AsyncDocumentLoader} instance
+     */
+    static AsyncDocumentLoader of(final DocumentLoader loader, final Executor executor) {
+
+        if (loader instanceof AsyncDocumentLoader) {
+            return (AsyncDocumentLoader) loader;
+        }
+        
+        if (executor == null) {
+            return of(loader);
+        }
+
+        return (url, options) -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return loader.loadDocument(url, options);
+
+            } catch (JsonLdError e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+}
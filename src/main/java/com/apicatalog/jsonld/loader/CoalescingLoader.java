@@ -0,0 +1,147 @@
+package com.apicatalog.jsonld.loader;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdErrorCode;
+import com.apicatalog.jsonld.document.Document;
+
+/**
+ * A {@link DocumentLoader} coalescing concurrent requests for the same document.
+ * The first request for a given {@link URI} and {@link DocumentLoaderOptions} is delegated 
+ * to the wrapped loader, concurrent requests for the same key wait for it 
+ * and receive the same {@link Document} instance, or the same error.
+ * <p>
+ * Nothing is kept once the request is completed. Combine with {@link LRUDocumentCache}
+ * to keep loaded documents, e.g.
+ * </p>
+ * <pre>
+ * {@code
+ *  new LRUDocumentCache(new CoalescingLoader(SchemeRouter.defaultInstance()), 256)
+ * }</pre>
+ */
+public final class CoalescingLoader implements DocumentLoader, AsyncDocumentLoader {
+
+    private final DocumentLoader loader;
+    
+    private final ConcurrentMap<DocumentKey, CompletableFuture<Document>> inflight;
+    
+    public CoalescingLoader(final DocumentLoader loader) {
+        
+        if (loader == null) {
+            throw new IllegalArgumentException("The loader must not be null.");
+        }
+        
+        this.loader = loader;
+        this.inflight = new ConcurrentHashMap<>();
+    }
+    
+    @Override
+    public Document loadDocument(final URI url, final DocumentLoaderOptions options) throws JsonLdError {
+
+        final DocumentKey key = DocumentKey.of(url, options);
+        
+        final CompletableFuture<Document> future = new CompletableFuture<>();
+        
+        final CompletableFuture<Document> pending = inflight.putIfAbsent(key, future);
+        
+        if (pending != null) {
+            return await(pending);
+        }
+        
+        try {
+            final Document document = loader.loadDocument(url, options);
+            
+            future.complete(document);
+            
+            return document;
+            
+        } catch (Throwable e) {
+            // complete the requests waiting for this one, whatever is thrown
+            future.completeExceptionally(e);
+            throw e;
+
+        } finally {
+            inflight.remove(key, future);
+        }
+    }
+
+    /**
+     * Coalesce asynchronous requests. The wrapped loader is adapted by {@link AsyncDocumentLoader#of(DocumentLoader)}.
+     */
+    @Override
+    public CompletableFuture<Document> loadDocumentAsync(final URI url, final DocumentLoaderOptions options) {
+        return loadDocumentAsync(url, options, null);
+    }
+
+    /**
+     * Coalesce asynchronous requests. The wrapped loader is adapted by {@link AsyncDocumentLoader#of(DocumentLoader, Executor)}.
+     */
+    @Override
+    public CompletableFuture<Document> loadDocumentAsync(final URI url, final DocumentLoaderOptions options, final Executor executor) {
+
+        final DocumentKey key = DocumentKey.of(url, options);
+        
+        final CompletableFuture<Document> future = new CompletableFuture<>();
+        
+        final CompletableFuture<Document> pending = inflight.putIfAbsent(key, future);
+        
+        // each caller gets a dependent copy, so completing or cancelling it does not affect the others
+        if (pending != null) {
+            return pending.copy();
+        }
+        
+        try {
+            AsyncDocumentLoader
+                .of(loader, executor)
+                .loadDocumentAsync(url, options, executor)
+                .whenComplete((document, e) -> {
+                    
+                    inflight.remove(key, future);
+                    
+                    if (e != null) {
+                        future.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                        
+                    } else {
+                        future.complete(document);
+                    }
+                });
+            
+        } catch (Throwable e) {
+            inflight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        
+        return future.copy();
+    }
+    
+    private static final Document await(final CompletableFuture<Document> pending) throws JsonLdError {
+        
+        try {
+            return pending.get();
+            
+        } catch (InterruptedException e) {
+            
+            Thread.currentThread().interrupt();
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, e);
+            
+        } catch (ExecutionException e) {
+            
+            if (e.getCause() instanceof JsonLdError) {
+                throw (JsonLdError) e.getCause();
+            }
+            
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, e.getCause());
+        }
+    }
+}
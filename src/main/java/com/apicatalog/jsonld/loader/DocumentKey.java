@@ -0,0 +1,90 @@
+package com.apicatalog.jsonld.loader;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+
+/**
+ * An immutable key identifying a document request, i.e. the requested {@link URI}
+ * and the {@link DocumentLoaderOptions} affecting the loaded content.
+ */
+final class DocumentKey {
+
+    private final URI url;
+    private final boolean extractAllScripts;
+    private final String profile;
+    private final Collection<String> requestProfile;
+    
+    private final int hashCode;
+    
+    private DocumentKey(final URI url, final boolean extractAllScripts, final String profile, final Collection<String> requestProfile) {
+        this.url = url;
+        this.extractAllScripts = extractAllScripts;
+        this.profile = profile;
+        this.requestProfile = requestProfile;
+        this.hashCode = Objects.hash(url, extractAllScripts, profile, requestProfile);
+    }
+    
+    static final DocumentKey of(final URI url, final DocumentLoaderOptions options) {
+
+        if (url == null) {
+            throw new IllegalArgumentException("The url must not be null.");
+        }
+        
+        if (options == null) {
+            return new DocumentKey(url, false, null, Collections.emptyList());
+        }
+        
+        return new DocumentKey(
+                        url, 
+                        options.isExtractAllScripts(), 
+                        options.getProfile(), 
+                        options.getRequestProfile() != null
+                                ? Collections.unmodifiableList(new ArrayList<>(options.getRequestProfile()))
+                                : Collections.emptyList()
+                        );
+    }
+    
+    URI url() {
+        return url;
+    }
+    
+    boolean isExtractAllScripts() {
+        return extractAllScripts;
+    }
+    
+    String profile() {
+        return profile;
+    }
+    
+    Collection<String> requestProfile() {
+        return requestProfile;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final DocumentKey other = (DocumentKey) obj;
+        return extractAllScripts == other.extractAllScripts 
+                && Objects.equals(url, other.url)
+                && Objects.equals(profile, other.profile)
+                && Objects.equals(requestProfile, other.requestProfile);
+    }
+    
+    @Override
+    public String toString() {
+        return "DocumentKey[url=" + url + ", extractAllScripts=" + extractAllScripts + ", profile=" + profile + "]";
+    }
+}
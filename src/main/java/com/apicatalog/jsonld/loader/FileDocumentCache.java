@@ -0,0 +1,507 @@
+package com.apicatalog.jsonld.loader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonWriter;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.document.RdfDocument;
+import com.apicatalog.jsonld.http.media.MediaType;
+import com.apicatalog.rdf.io.nquad.NQuadsWriter;
+
+/**
+ * A {@link DocumentLoader} storing loaded documents in a local directory, so they survive
+ * a JVM restart. Documents not found in the directory, or expired, are retrieved by the wrapped loader.
+ * <p>
+ * Each document is stored as a content file accompanied by a metadata file 
+ * keeping the document URL, content type, context URL and the time the document was stored.
+ * Metadata of all stored documents are indexed in memory when the cache is created,
+ * content files are read through memory-mapped buffers.
+ * </p>
+ * <p>
+ * The cache is thread safe. Multiple JVMs may share a directory, entries are written atomically.
+ * </p>
+ */
+public final class FileDocumentCache implements DocumentLoader, AsyncDocumentLoader {
+
+    private static final Logger LOGGER = Logger.getLogger(FileDocumentCache.class.getName());
+    
+    private static final String META_SUFFIX = ".meta";
+    private static final String CONTENT_SUFFIX = ".content";
+    private static final String TEMP_SUFFIX = ".tmp";
+    
+    private static final String KEY_URL = "url";
+    private static final String KEY_EXTRACT_ALL_SCRIPTS = "extractAllScripts";
+    private static final String KEY_PROFILE = "profile";
+    private static final String KEY_REQUEST_PROFILE = "requestProfile";
+    private static final String KEY_DOCUMENT_URL = "documentUrl";
+    private static final String KEY_CONTEXT_URL = "contextUrl";
+    private static final String KEY_CONTENT_TYPE = "contentType";
+    private static final String KEY_CONTENT_PROFILE = "contentProfile";
+    private static final String KEY_CREATED = "created";
+    
+    private final DocumentLoader loader;
+    
+    private final Path directory;
+    
+    // time to live in milliseconds, zero means that entries do not expire 
+    private final long ttl;
+    
+    private final Map<DocumentKey, Entry> index;
+    
+    public FileDocumentCache(final DocumentLoader loader, final Path directory) {
+        this(loader, directory, null);
+    }
+
+    /**
+     * Create a new cache using the given directory. Entries already present in the directory 
+     * are indexed.
+     * 
+     * @param loader used to retrieve documents not found in the cache
+     * @param directory to store documents, created if it does not exist
+     * @param ttl time to live of a stored document, <code>null</code> if documents do not expire
+     */
+    public FileDocumentCache(final DocumentLoader loader, final Path directory, final Duration ttl) {
+        
+        if (loader == null) {
+            throw new IllegalArgumentException("The loader must not be null.");
+        }
+        
+        if (directory == null) {
+            throw new IllegalArgumentException("The directory must not be null.");
+        }
+
+        if (ttl != null && (ttl.isNegative() || ttl.isZero())) {
+            throw new IllegalArgumentException("The time to live must be positive but was [" + ttl + "].");
+        }
+        
+        try {
+            Files.createDirectories(directory);
+            
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The directory [" + directory + "] is not accessible.", e);
+        }
+        
+        this.loader = loader;
+        this.directory = directory;
+        this.ttl = ttl != null ? ttl.toMillis() : 0;
+        this.index = new ConcurrentHashMap<>();
+        
+        readIndex();
+    }
+    
+    @Override
+    public Document loadDocument(final URI url, final DocumentLoaderOptions options) throws JsonLdError {
+
+        final DocumentKey key = DocumentKey.of(url, options);
+
+        final Document stored = get(key);
+        
+        if (stored != null) {
+            return stored;
+        }
+        
+        return put(key, loader.loadDocument(url, options));
+    }
+
+    /**
+     * Documents not found in the directory are retrieved asynchronously if the wrapped loader
+     * is {@link AsyncDocumentLoader}, the document is stored once it is loaded.
+     */
+    @Override
+    public CompletableFuture<Document> loadDocumentAsync(final URI url, final DocumentLoaderOptions options) {
+        return loadDocumentAsync(url, options, null);
+    }
+
+    /**
+     * Documents not found in the directory are retrieved asynchronously if the wrapped loader
+     * is {@link AsyncDocumentLoader}, or by the given executor; the document is stored once it is loaded.
+     */
+    @Override
+    public CompletableFuture<Document> loadDocumentAsync(final URI url, final DocumentLoaderOptions options, final Executor executor) {
+        
+        final DocumentKey key = DocumentKey.of(url, options);
+
+        final Document stored = get(key);
+        
+        if (stored != null) {
+            return CompletableFuture.completedFuture(stored);
+        }
+        
+        return AsyncDocumentLoader
+                    .of(loader, executor)
+                    .loadDocumentAsync(url, options, executor)
+                    .thenApply(document -> put(key, document));
+    }
+    
+    private Document get(final DocumentKey key) {
+        
+        final Entry entry = index.get(key);
+        
+        if (entry != null) {
+            
+            if (!entry.isExpired(System.currentTimeMillis(), ttl)) {
+                
+                final Document document = read(entry);
+                
+                if (document != null) {
+                    return document;
+                }
+            }
+            
+            index.remove(key, entry);
+        }
+        
+        return null;
+    }
+    
+    private Document put(final DocumentKey key, final Document document) {
+        
+        if (document != null) {
+            write(key, document);
+        }
+        
+        return document;
+    }
+    
+    /**
+     * Number of indexed documents.
+     * 
+     * @return number of stored documents
+     */
+    public long size() {
+        return index.size();
+    }
+
+    /**
+     * Remove all stored documents.
+     */
+    public void clear() {
+
+        for (final Entry entry : index.values()) {
+            try {
+                Files.deleteIfExists(entry.meta);
+                Files.deleteIfExists(entry.content);
+                
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to delete cache entry [" + entry.meta + "].", e);
+            }
+        }
+        
+        index.clear();
+    }
+    
+    private Document read(final Entry entry) {
+
+        try (final FileChannel channel = FileChannel.open(entry.content, StandardOpenOption.READ)) {
+            
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            final Document document;
+            
+            if (RdfDocument.accepts(entry.contentType)) {
+                document = RdfDocument.of(entry.contentType, new ByteBufferInputStream(buffer));
+                
+            } else {
+                document = JsonDocument.of(entry.contentType, new ByteBufferInputStream(buffer));
+            }
+            
+            document.setDocumentUrl(entry.documentUrl);
+            document.setContextUrl(entry.contextUrl);
+            
+            return document;
+            
+        } catch (IOException | JsonLdError | IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Failed to read cache entry [" + entry.content + "].", e);
+        }
+        
+        return null;
+    }
+    
+    private void write(final DocumentKey key, final Document document) {
+        
+        final boolean isJson = document.getJsonContent().isPresent();
+        
+        if (!isJson && !document.getRdfContent().isPresent()) {
+            return;
+        }
+
+        final String name = hash(key);
+        
+        final Path content = directory.resolve(name + CONTENT_SUFFIX);
+        final Path meta = directory.resolve(name + META_SUFFIX);
+        
+        final long created = System.currentTimeMillis();
+        
+        Path contentTemp = null;
+        Path metaTemp = null;
+        
+        try {
+            contentTemp = Files.createTempFile(directory, name, TEMP_SUFFIX);
+
+            try (final OutputStream os = Files.newOutputStream(contentTemp)) {
+
+                if (isJson) {
+                    try (final JsonWriter writer = Json.createWriter(os)) {
+                        writer.write(document.getJsonContent().get());
+                    }
+                    
+                } else {
+                    final Writer writer = new OutputStreamWriter(os, StandardCharsets.UTF_8);
+                    new NQuadsWriter(writer).write(document.getRdfContent().get());
+                }
+            }
+            
+            final Properties properties = new Properties();
+            
+            properties.setProperty(KEY_URL, key.url().toString());
+            properties.setProperty(KEY_EXTRACT_ALL_SCRIPTS, Boolean.toString(key.isExtractAllScripts()));
+            
+            if (key.profile() != null) {
+                properties.setProperty(KEY_PROFILE, key.profile());
+            }
+            
+            properties.setProperty(KEY_REQUEST_PROFILE, String.join(" ", key.requestProfile()));
+            
+            if (document.getDocumentUrl() != null) {
+                properties.setProperty(KEY_DOCUMENT_URL, document.getDocumentUrl().toString());
+            }
+            
+            if (document.getContextUrl() != null) {
+                properties.setProperty(KEY_CONTEXT_URL, document.getContextUrl().toString());
+            }
+            
+            properties.setProperty(KEY_CONTENT_TYPE, document.getContentType().toString());
+            
+            document.getProfile().ifPresent(profile -> properties.setProperty(KEY_CONTENT_PROFILE, profile));
+            
+            properties.setProperty(KEY_CREATED, Long.toString(created));
+            
+            metaTemp = Files.createTempFile(directory, name, TEMP_SUFFIX);
+            
+            try (final OutputStream os = Files.newOutputStream(metaTemp)) {
+                properties.store(os, null);
+            }
+            
+            // content must be in place before metadata referencing it
+            Files.move(contentTemp, content, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(metaTemp, meta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            index.put(key, readEntry(meta));
+            
+        } catch (IOException | JsonException | IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Failed to write cache entry [" + meta + "].", e);
+            
+        } finally {
+            deleteTemp(contentTemp);
+            deleteTemp(metaTemp);
+        }
+    }
+    
+    private static final void deleteTemp(final Path temp) {
+        
+        if (temp == null) {
+            return;
+        }
+        
+        try {
+            Files.deleteIfExists(temp);
+            
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Failed to delete temporary file [" + temp + "].", e);
+        }
+    }
+
+    private void readIndex() {
+        
+        try (final DirectoryStream<Path> metas = Files.newDirectoryStream(directory, "*" + META_SUFFIX)) {
+            
+            for (final Path meta : metas) {
+                
+                try {
+                    final Properties properties = readProperties(meta);
+                    
+                    final DocumentLoaderOptions options = new DocumentLoaderOptions();
+                    options.setExtractAllScripts(Boolean.parseBoolean(properties.getProperty(KEY_EXTRACT_ALL_SCRIPTS)));
+                    options.setProfile(properties.getProperty(KEY_PROFILE));
+                    
+                    final String requestProfile = properties.getProperty(KEY_REQUEST_PROFILE, "");
+                    
+                    if (!requestProfile.isBlank()) {
+                        options.setRequestProfile(Arrays.stream(requestProfile.split(" ")).collect(Collectors.toList()));
+                    }
+                    
+                    index.put(DocumentKey.of(URI.create(properties.getProperty(KEY_URL)), options), readEntry(meta));
+                    
+                } catch (IOException | IllegalArgumentException | NullPointerException e) {
+                    LOGGER.log(Level.WARNING, "Skipped invalid cache entry [" + meta + "].", e);
+                }
+            }
+            
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to read cache directory [" + directory + "].", e);
+        }
+    }
+    
+    private static final Entry readEntry(final Path meta) throws IOException {
+        
+        final Properties properties = readProperties(meta);
+
+        final String fileName = meta.getFileName().toString();
+        
+        final Path content = meta.resolveSibling(fileName.substring(0, fileName.length() - META_SUFFIX.length()) + CONTENT_SUFFIX);
+        
+        final String profile = properties.getProperty(KEY_CONTENT_PROFILE);
+        
+        final MediaType contentType = MediaType.of(
+                                            properties.getProperty(KEY_CONTENT_TYPE) 
+                                            + (profile != null ? ";profile=\"" + profile + "\"" : "")
+                                            );
+
+        if (contentType == null) {
+            throw new IllegalArgumentException("Missing content type.");
+        }
+
+        final String documentUrl = properties.getProperty(KEY_DOCUMENT_URL);
+        final String contextUrl = properties.getProperty(KEY_CONTEXT_URL);
+        
+        return new Entry(
+                    meta,
+                    content,
+                    contentType,
+                    documentUrl != null ? URI.create(documentUrl) : null,
+                    contextUrl != null ? URI.create(contextUrl) : null,
+                    Long.parseLong(properties.getProperty(KEY_CREATED, "0"))
+                    );
+    }
+    
+    private static final Properties readProperties(final Path path) throws IOException {
+        
+        final Properties properties = new Properties();
+        
+        try (final InputStream is = Files.newInputStream(path)) {
+            properties.load(is);
+        }
+        
+        return properties;
+    }
+    
+    private static final String hash(final DocumentKey key) {
+        
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            
+            digest.update(key.url().toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte)0);
+            digest.update(Boolean.toString(key.isExtractAllScripts()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte)0);
+            digest.update(String.valueOf(key.profile()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte)0);
+            digest.update(String.join(" ", key.requestProfile()).getBytes(StandardCharsets.UTF_8));
+            
+            final StringBuilder builder = new StringBuilder(64);
+            
+            for (final byte b : digest.digest()) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+                builder.append(Character.forDigit(b & 0xF, 16));
+            }
+            
+            return builder.toString();
+            
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required to be supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static final class Entry {
+        
+        final Path meta;
+        final Path content;
+        
+        final MediaType contentType;
+        final URI documentUrl;
+        final URI contextUrl;
+        
+        final long created;
+        
+        Entry(final Path meta, final Path content, final MediaType contentType, final URI documentUrl, final URI contextUrl, final long created) {
+            this.meta = meta;
+            this.content = content;
+            this.contentType = contentType;
+            this.documentUrl = documentUrl;
+            this.contextUrl = contextUrl;
+            this.created = created;
+        }
+        
+        boolean isExpired(final long now, final long ttl) {
+            return ttl > 0 && now - created >= ttl;
+        }
+    }
+    
+    private static final class ByteBufferInputStream extends InputStream {
+        
+        private final ByteBuffer buffer;
+        
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+        
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            
+            if (length == 0) {
+                return 0;
+            }
+            
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            
+            final int count = Math.min(length, buffer.remaining());
+            
+            buffer.get(bytes, offset, count);
+            
+            return count;
+        }
+        
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
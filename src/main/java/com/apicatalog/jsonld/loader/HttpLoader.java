@@ -1,28 +1,40 @@
 package com.apicatalog.jsonld.loader;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.apicatalog.jsonld.api.JsonLdError;
 import com.apicatalog.jsonld.api.JsonLdErrorCode;
+import com.apicatalog.jsonld.cache.Cache;
+import com.apicatalog.jsonld.cache.LruCache;
 import com.apicatalog.jsonld.document.Document;
 import com.apicatalog.jsonld.document.DocumentParser;
+import com.apicatalog.jsonld.http.CacheControl;
 import com.apicatalog.jsonld.http.ProfileConstants;
 import com.apicatalog.jsonld.http.link.Link;
 import com.apicatalog.jsonld.http.media.MediaType;
 import com.apicatalog.jsonld.uri.UriResolver;
 
-public class HttpLoader implements DocumentLoader {
+public class HttpLoader implements DocumentLoader, AsyncDocumentLoader {
 
     private static final HttpClient CLIENT = HttpClient.newBuilder().followRedirects(Redirect.NEVER).build();
     
@@ -36,6 +48,8 @@ public class HttpLoader implements DocumentLoader {
 
     private final HttpClient httpClient;
     
+    private final Cache<String, CacheEntry> cache;
+    
     public HttpLoader(HttpClient httpClient) {
         this(httpClient, MAX_REDIRECTIONS);
     }
@@ -43,6 +57,26 @@ public class HttpLoader implements DocumentLoader {
     public HttpLoader(HttpClient httpClient, int maxRedirections) {
         this.httpClient = httpClient;
         this.maxRedirections = maxRedirections;
+        this.cache = null;
+    }
+
+    /**
+     * Create a new loader honoring HTTP caching. Responses are kept according to
+     * <code>Cache-Control</code> and <code>Expires</code> headers, and stale responses 
+     * having <code>ETag</code> or <code>Last-Modified</code> validators are
+     * revalidated by conditional requests.
+     * <p>
+     * Cached {@link Document} instances are returned to all callers and should be treated as read-only.
+     * </p>
+     * 
+     * @param httpClient used to send requests
+     * @param maxRedirections maximum number of followed redirections
+     * @param cacheCapacity maximum number of cached responses
+     */
+    public HttpLoader(HttpClient httpClient, int maxRedirections, int cacheCapacity) {
+        this.httpClient = httpClient;
+        this.maxRedirections = maxRedirections;
+        this.cache = new LruCache<>(cacheCapacity);
     }
 
     public static final DocumentLoader defaultInstance() {
@@ -52,139 +86,282 @@ public class HttpLoader implements DocumentLoader {
     @Override
     public Document loadDocument(final URI uri, final DocumentLoaderOptions options) throws JsonLdError {
 
+        final LoadState state = new LoadState(uri, getAcceptHeader(options.getRequestProfile()));
+        
         try {
-            int redirection = 0;
             
-            boolean done = false;
+            while (true) {
+                
+                final CacheEntry cached = getCached(state);
+                
+                if (cached != null && cached.isFresh(System.nanoTime())) {
+                    
+                    if (cached.location == null) {
+                        return cached.document;
+                    }
+
+                    // a permanent redirection
+                    state.targetUri = cached.location;
+                    state.redirected(maxRedirections);
+                    continue;
+                }
+
+                // 2.
+                final HttpResponse<InputStream> response = httpClient.send(newRequest(state, cached), BodyHandlers.ofInputStream());
+                
+                final Document document = process(state, cached, response, response::body);
+                
+                if (document != null) {
+                    return document;
+                }
+            }
             
-            URI targetUri = uri;
+        } catch (InterruptedException e) {
             
-            MediaType contentType = null;
+            Thread.currentThread().interrupt();
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, e);
             
-            URI contextUri = null;
+        } catch (IOException e) {
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, e);            
+        }        
+    }
+
+    /**
+     * Load a document using {@link HttpClient#sendAsync(HttpRequest, java.net.http.HttpResponse.BodyHandler)}.
+     * Response bodies are received in memory and parsed once complete, so no thread
+     * is blocked waiting for a network I/O. Errors are reported by the returned future only.
+     */
+    @Override
+    public CompletableFuture<Document> loadDocumentAsync(final URI uri, final DocumentLoaderOptions options) {
+        try {
+            return sendAsync(new LoadState(uri, getAcceptHeader(options.getRequestProfile())));
             
-            HttpResponse<InputStream> response = null;
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, e));
+        }
+    }
+    
+    private CompletableFuture<Document> sendAsync(final LoadState state) {
+        try {
+            return send(state);
             
-            while (!done) {
-                
-                // 2.
-                HttpRequest request = 
-                                HttpRequest.newBuilder()
-                                    .GET()
-                                    .uri(targetUri)
-                                    .header("Accept", getAcceptHeader(options.getRequestProfile()))
-                                    .build();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, e));
+        }
+    }
+
+    private CompletableFuture<Document> send(final LoadState state) {
+
+        final CacheEntry cached = getCached(state);
+        
+        if (cached != null && cached.isFresh(System.nanoTime())) {
+            
+            if (cached.location == null) {
+                return CompletableFuture.completedFuture(cached.document);
+            }
+            
+            // a permanent redirection
+            try {
+                state.targetUri = cached.location;
+                state.redirected(maxRedirections);
                 
-                response = httpClient.send(request, BodyHandlers.ofInputStream());
-                                    
-                // 3.
-                if (response.statusCode() == 301
-                    || response.statusCode() == 302
-                    || response.statusCode() == 303
-                    || response.statusCode() == 307
-                    ) {
+            } catch (JsonLdError e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            
+            return sendAsync(state);
+        }
+        
+        // 2.
+        return httpClient
+                    .sendAsync(newRequest(state, cached), BodyHandlers.ofByteArray())
+                    .handle((response, e) -> {
+                        
+                        if (e != null) {
+                            return CompletableFuture.<Document>failedFuture(
+                                        new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, 
+                                                e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+                        }
 
-                    final Optional<String> location = response.headers().firstValue("Location");
-                    
-                    if (location.isPresent()) {
-                        targetUri = URI.create(UriResolver.resolve(targetUri, location.get()));
+                        try {
+                            final Document document = process(state, cached, response, () -> new ByteArrayInputStream(response.body()));
+                            
+                            return document != null
+                                        ? CompletableFuture.completedFuture(document)
+                                        : sendAsync(state);
+                            
+                        } catch (JsonLdError ex) {
+                            return CompletableFuture.<Document>failedFuture(ex);
+                            
+                        } catch (IOException | RuntimeException ex) {
+                            return CompletableFuture.<Document>failedFuture(new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, ex));
+                        }
+                    })
+                    .thenCompose(Function.identity());
+    }
+    
+    private CacheEntry getCached(final LoadState state) {
+        return cache != null ? cache.get(cacheKey(state.targetUri, state.acceptHeader)) : null;
+    }
+    
+    private static final HttpRequest newRequest(final LoadState state, final CacheEntry cached) {
+        
+        final HttpRequest.Builder requestBuilder = 
+                        HttpRequest.newBuilder()
+                            .GET()
+                            .uri(state.targetUri)
+                            .header("Accept", state.acceptHeader);
+        
+        if (cached != null) {
+            
+            if (cached.etag != null) {
+                requestBuilder.header("If-None-Match", cached.etag);
+            }
+            
+            if (cached.lastModified != null) {
+                requestBuilder.header("If-Modified-Since", cached.lastModified);
+            }
+        }
+        
+        return requestBuilder.build();
+    }
+    
+    /**
+     * Process a response received for {@link LoadState#targetUri}.
+     * 
+     * @return the loaded document or <code>null</code> if the request has been redirected
+     *          and the new {@link LoadState#targetUri} has to be requested
+     */
+    private Document process(final LoadState state, final CacheEntry cached, final HttpResponse<?> response, final ResponseBody body) throws JsonLdError, IOException {
 
-                    } else {
-                        throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Header location is required for code [" + response.statusCode() + "].");
-                    }
-                    
+        // the cached response is still valid 
+        if (cached != null && cached.location == null && response.statusCode() == 304) {
+            
+            body.open().close();
+            
+            cache.put(cacheKey(state.targetUri, state.acceptHeader), cached.revalidate(response.headers(), System.nanoTime()));
+            
+            return cached.document;
+        }
 
-                    redirection++;
-                    
-                    if (maxRedirections > 0 && redirection >= maxRedirections) {
-                        throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Too many redirections");
-                    }
+        // 3.
+        if (response.statusCode() == 301
+            || response.statusCode() == 302
+            || response.statusCode() == 303
+            || response.statusCode() == 307
+            || response.statusCode() == 308
+            ) {
 
-                    continue;
-                }
+            body.open().close();
+            
+            final Optional<String> location = response.headers().firstValue("Location");
+            
+            if (!location.isPresent()) {
+                throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Header location is required for code [" + response.statusCode() + "].");
+            }
+
+            final URI locationUri = URI.create(UriResolver.resolve(state.targetUri, location.get()));
+
+            // permanent redirections are cacheable
+            if (cache != null && (response.statusCode() == 301 || response.statusCode() == 308)) {
                 
-                if (response.statusCode() != 200) {
-                    throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Unexpected response code [" + response.statusCode() + "]");
+                final CacheEntry entry = CacheEntry.redirect(locationUri, response.headers(), System.nanoTime());
+                
+                if (entry != null) {
+                    cache.put(cacheKey(state.targetUri, state.acceptHeader), entry);
                 }
+            }
+            
+            state.targetUri = locationUri;
+            
+            state.redirected(maxRedirections);
+
+            return null;
+        }
+        
+        if (response.statusCode() != 200) {
+            body.open().close();
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Unexpected response code [" + response.statusCode() + "]");
+        }
 
-                final Optional<String> contentTypeValue = response.headers().firstValue("Content-Type");
+        final Optional<String> contentTypeValue = response.headers().firstValue("Content-Type");
+        
+        if (contentTypeValue.isPresent()) {                    
+            state.contentType = MediaType.of(contentTypeValue.get());
+        }
+        
+        final MediaType contentType = state.contentType;
+        
+        final List<String> linkValues = response.headers().map().get("link");
+
+        if (linkValues != null && !linkValues.isEmpty()) {
+
+            // 4.
+            if (contentType == null 
+                    || (!MediaType.JSON.match(contentType)
+                            && !contentType.subtype().toLowerCase().endsWith(PLUS_JSON))
+                    ) {
                 
-                if (contentTypeValue.isPresent()) {                    
-                    contentType = MediaType.of(contentTypeValue.get());
-                }
+                final URI baseUri = state.targetUri;
+
+                Optional<Link> alternate = 
+                                    linkValues.stream()
+                                        .flatMap(l -> Link.of(l, baseUri).stream())
+                                        .filter(l -> l.relations().contains("alternate")
+                                                        && l.type().isPresent()
+                                                        && MediaType.JSON_LD.match(l.type().get())
+                                                )
+                                        .findFirst();
+
+                if (alternate.isPresent()) {
                 
-                final List<String> linkValues = response.headers().map().get("link");
+                    body.open().close();
+                    
+                    state.targetUri = alternate.get().target();
+                    
+                    state.redirected(maxRedirections);
 
-                if (linkValues != null && !linkValues.isEmpty()) {
+                    return null;
+                }
+            }
+            
+            // 5.
+            if (contentType != null 
+                    && !MediaType.JSON_LD.match(contentType) 
+                    && (MediaType.JSON.match(contentType)
+                            || contentType.subtype().toLowerCase().endsWith(PLUS_JSON))
+                    ) {
 
-                    // 4.
-                    if (contentType == null 
-                            || (!MediaType.JSON.match(contentType)
-                                    && !contentType.subtype().toLowerCase().endsWith(PLUS_JSON))
-                            ) {
-                        
-                        final URI baseUri = targetUri;
-
-                        Optional<Link> alternate = 
-                                            linkValues.stream()
-                                                .flatMap(l -> Link.of(l, baseUri).stream())
-                                                .filter(l -> l.relations().contains("alternate")
-                                                                && l.type().isPresent()
-                                                                && MediaType.JSON_LD.match(l.type().get())
-                                                        )
-                                                .findFirst();
-
-                        if (alternate.isPresent()) {
-                        
-                            targetUri = alternate.get().target();
-                            
-                            redirection++;
-                            
-                            if (maxRedirections > 0 && redirection >= maxRedirections) {
-                                throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Too many redirections");
-                            }
+                final URI baseUri = state.targetUri;
 
-                            continue;
-                        }
-                    }
+                final List<Link> contextUris = 
+                                linkValues.stream()
+                                    .flatMap(l -> Link.of(l, baseUri).stream())
+                                    .filter(l -> l.relations().contains(ProfileConstants.CONTEXT))
+                                    .collect(Collectors.toList());
+                
+                if (contextUris.size() > 1) {
+                    body.open().close();
+                    throw new JsonLdError(JsonLdErrorCode.MULTIPLE_CONTEXT_LINK_HEADERS);
                     
-                    // 5.
-                    if (contentType != null 
-                            && !MediaType.JSON_LD.match(contentType) 
-                            && (MediaType.JSON.match(contentType)
-                                    || contentType.subtype().toLowerCase().endsWith(PLUS_JSON))
-                            ) {
-
-                        final URI baseUri = targetUri;
-
-                        final List<Link> contextUris = 
-                                        linkValues.stream()
-                                            .flatMap(l -> Link.of(l, baseUri).stream())
-                                            .filter(l -> l.relations().contains(ProfileConstants.CONTEXT))
-                                            .collect(Collectors.toList());
-                        
-                        if (contextUris.size() > 1) {
-                            throw new JsonLdError(JsonLdErrorCode.MULTIPLE_CONTEXT_LINK_HEADERS);
-                            
-                        } else if(contextUris.size() == 1) {
-                            contextUri = contextUris.get(0).target();
-                        }
-                    }
+                } else if(contextUris.size() == 1) {
+                    state.contextUri = contextUris.get(0).target();
                 }
-                    
-                done = true;
             }
+        }
 
-            return createDocument(contentType, targetUri, contextUri, response);
-            
-        } catch (InterruptedException e) {
+        final Document document = createDocument(contentType, state.targetUri, state.contextUri, body.open());
+        
+        if (cache != null) {
             
-            Thread.currentThread().interrupt();
-            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, e);
+            final CacheEntry entry = CacheEntry.of(document, response.headers(), System.nanoTime());
             
-        } catch (IOException e) {
-            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, e);            
-        }        
+            if (entry != null) {
+                cache.put(cacheKey(state.targetUri, state.acceptHeader), entry);
+            }
+        }
+        
+        return document;
     }
 
     public static final String getAcceptHeader() {
@@ -213,7 +390,16 @@ public class HttpLoader implements DocumentLoader {
                                         final URI targetUri,
                                         final URI contextUrl,
                                         final HttpResponse<InputStream> response) throws JsonLdError, IOException {
-        try (final InputStream is = response.body()) {
+        return createDocument(type, targetUri, contextUrl, response.body());
+    }
+    
+    private static final Document createDocument(
+                                        final MediaType type,
+                                        final URI targetUri,
+                                        final URI contextUrl,
+                                        final InputStream body) throws JsonLdError, IOException {
+        
+        try (final InputStream is = body) {
             
             final Document remoteDocument = DocumentParser.parse(type, is);
         
@@ -224,4 +410,195 @@ public class HttpLoader implements DocumentLoader {
             return remoteDocument;
         }
     }
+
+    @FunctionalInterface
+    private interface ResponseBody {
+        
+        InputStream open() throws IOException;
+        
+    }
+    
+    /**
+     * A mutable state of a request following redirections.
+     */
+    private static final class LoadState {
+        
+        final String acceptHeader;
+        
+        URI targetUri;
+        
+        int redirection;
+        
+        MediaType contentType;
+        
+        URI contextUri;
+        
+        LoadState(final URI targetUri, final String acceptHeader) {
+            this.targetUri = targetUri;
+            this.acceptHeader = acceptHeader;
+            this.redirection = 0;
+            this.contentType = null;
+            this.contextUri = null;
+        }
+        
+        void redirected(final int maxRedirections) throws JsonLdError {
+            
+            redirection++;
+            
+            if (maxRedirections > 0 && redirection >= maxRedirections) {
+                throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Too many redirections");
+            }
+        }
+    }
+    
+    private static final String cacheKey(final URI uri, final String acceptHeader) {
+        return uri.toString() + ' ' + acceptHeader;
+    }
+
+    private static final class CacheEntry {
+        
+        final Document document;
+        
+        // a target of a permanent redirection, null if the entry is a document
+        final URI location;
+        
+        final String etag;
+        final String lastModified;
+        
+        // freshness lifetime in seconds
+        final long lifetime;
+        
+        // System.nanoTime() based expiration
+        final long expires;
+        
+        CacheEntry(final Document document, final URI location, final String etag, final String lastModified, final long lifetime, final long expires) {
+            this.document = document;
+            this.location = location;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.lifetime = lifetime;
+            this.expires = expires;
+        }
+
+        /**
+         * Create a new entry if the response can be stored.
+         * 
+         * @return a new entry or <code>null</code> if the response must not be cached
+         */
+        static final CacheEntry of(final Document document, final HttpHeaders headers, final long now) {
+            
+            final CacheControl cacheControl = CacheControl.of(headers.allValues("Cache-Control"));
+            
+            if (cacheControl.isNoStore()) {
+                return null;
+            }
+            
+            final String etag = headers.firstValue("ETag").orElse(null);
+            final String lastModified = headers.firstValue("Last-Modified").orElse(null);
+
+            final long lifetime = lifetime(cacheControl, headers).orElse(0L);
+            final long age = age(headers);
+            
+            if (lifetime <= age && etag == null && lastModified == null) {
+                return null;
+            }
+            
+            return new CacheEntry(document, null, etag, lastModified, lifetime, expires(now, lifetime, age));
+        }
+
+        /**
+         * Create a new entry of a permanent redirection if the response can be stored.
+         * A redirection with no explicit expiration does not expire.
+         * 
+         * @return a new entry or <code>null</code> if the response must not be cached
+         */
+        static final CacheEntry redirect(final URI location, final HttpHeaders headers, final long now) {
+            
+            final CacheControl cacheControl = CacheControl.of(headers.allValues("Cache-Control"));
+            
+            if (cacheControl.isNoStore()) {
+                return null;
+            }
+            
+            final long lifetime = lifetime(cacheControl, headers).orElse(CacheControl.MAX_DELTA_SECONDS);
+            final long age = age(headers);
+            
+            // stale redirections are not revalidated
+            if (lifetime <= age) {
+                return null;
+            }
+            
+            return new CacheEntry(null, location, null, null, lifetime, expires(now, lifetime, age));
+        }
+        
+        CacheEntry revalidate(final HttpHeaders headers, final long now) {
+            
+            final CacheControl cacheControl = CacheControl.of(headers.allValues("Cache-Control"));
+            
+            final long newLifetime = lifetime(cacheControl, headers).orElse(lifetime);
+
+            return new CacheEntry(
+                        document, 
+                        null,
+                        headers.firstValue("ETag").orElse(etag), 
+                        headers.firstValue("Last-Modified").orElse(lastModified), 
+                        newLifetime, 
+                        expires(now, newLifetime, age(headers))
+                        );
+        }
+        
+        boolean isFresh(final long now) {
+            return now - expires < 0;
+        }
+        
+        private static final long expires(final long now, final long lifetime, final long age) {
+
+            // at most 2^31 seconds, i.e. less than 2^61 nanoseconds
+            final long seconds = Math.min(Math.max(0, lifetime - age), CacheControl.MAX_DELTA_SECONDS);
+
+            return now + Duration.ofSeconds(seconds).toNanos();
+        }
+        
+        private static final Optional<Long> lifetime(final CacheControl cacheControl, final HttpHeaders headers) {
+            
+            if (cacheControl.isNoCache()) {
+                return Optional.of(0L);
+            }
+            
+            if (cacheControl.maxAge().isPresent()) {
+                return Optional.of(cacheControl.maxAge().getAsLong());
+            }
+            
+            final Optional<String> expires = headers.firstValue("Expires");
+            
+            if (expires.isPresent()) {
+                
+                final ZonedDateTime expiresTime = parseDate(expires.get());
+
+                final ZonedDateTime date = headers.firstValue("Date").map(CacheEntry::parseDate).orElse(ZonedDateTime.now());
+
+                // an invalid date represents a time in the past
+                if (expiresTime == null) {
+                    return Optional.of(0L);
+                }
+                
+                return Optional.of(Math.min(Math.max(0, Duration.between(date, expiresTime).getSeconds()), CacheControl.MAX_DELTA_SECONDS));
+            }
+            
+            return Optional.empty();
+        }
+        
+        private static final long age(final HttpHeaders headers) {
+            return headers.firstValue("Age").map(CacheControl::parseSeconds).filter(age -> age > 0).orElse(0L);
+        }
+        
+        private static final ZonedDateTime parseDate(final String value) {
+            try {
+                return ZonedDateTime.parse(value.strip(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+    }
 }
@@ -0,0 +1,197 @@
+package com.apicatalog.jsonld.loader;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.cache.Cache;
+import com.apicatalog.jsonld.cache.LruCache;
+import com.apicatalog.jsonld.document.Document;
+
+/**
+ * A {@link DocumentLoader} keeping the most recently loaded documents in a bounded cache. 
+ * Documents not found in the cache, or expired, are retrieved by the wrapped loader.
+ * <p>
+ * Documents are cached per requested {@link URI} and {@link DocumentLoaderOptions}.
+ * An instance is thread safe and is intended to be shared, e.g.
+ * </p>
+ * <pre>
+ * {@code
+ *  new LRUDocumentCache(SchemeRouter.defaultInstance(), 256, Duration.ofHours(1))
+ * }</pre>
+ * <p>
+ * Cached {@link Document} instances are returned to all callers and should be treated as read-only.
+ * </p>
+ */
+public final class LRUDocumentCache implements DocumentLoader, AsyncDocumentLoader {
+
+    private final DocumentLoader loader;
+    
+    private final Cache<DocumentKey, Entry> cache;
+    
+    // time to live in nanoseconds, zero means that entries do not expire 
+    private final long ttl;
+
+    private final AtomicLong hitCount;
+    private final AtomicLong missCount;
+    
+    /**
+     * Create a new cache with entries expiring only when evicted.
+     * 
+     * @param loader used to retrieve documents not found in the cache
+     * @param capacity maximum number of cached documents
+     */
+    public LRUDocumentCache(final DocumentLoader loader, final int capacity) {
+        this(loader, capacity, null);
+    }
+
+    /**
+     * Create a new cache.
+     * 
+     * @param loader used to retrieve documents not found in the cache
+     * @param capacity maximum number of cached documents
+     * @param ttl time to live of a cached document, <code>null</code> if documents do not expire
+     */
+    public LRUDocumentCache(final DocumentLoader loader, final int capacity, final Duration ttl) {
+        
+        if (loader == null) {
+            throw new IllegalArgumentException("The loader must not be null.");
+        }
+        
+        if (ttl != null && (ttl.isNegative() || ttl.isZero())) {
+            throw new IllegalArgumentException("The time to live must be positive but was [" + ttl + "].");
+        }
+        
+        this.loader = loader;
+        this.cache = new LruCache<>(capacity);
+        this.ttl = ttl != null ? ttl.toNanos() : 0;
+        this.hitCount = new AtomicLong();
+        this.missCount = new AtomicLong();
+    }
+
+    @Override
+    public Document loadDocument(final URI url, final DocumentLoaderOptions options) throws JsonLdError {
+
+        final DocumentKey key = DocumentKey.of(url, options);
+        
+        final Document cached = get(key);
+        
+        if (cached != null) {
+            return cached;
+        }
+
+        return put(key, loader.loadDocument(url, options));
+    }
+
+    /**
+     * Documents not found in the cache are retrieved asynchronously if the wrapped loader
+     * is {@link AsyncDocumentLoader}, the document is cached once it is loaded.
+     */
+    @Override
+    public CompletableFuture<Document> loadDocumentAsync(final URI url, final DocumentLoaderOptions options) {
+        return loadDocumentAsync(url, options, null);
+    }
+
+    /**
+     * Documents not found in the cache are retrieved asynchronously if the wrapped loader
+     * is {@link AsyncDocumentLoader}, or by the given executor; the document is cached once it is loaded.
+     */
+    @Override
+    public CompletableFuture<Document> loadDocumentAsync(final URI url, final DocumentLoaderOptions options, final Executor executor) {
+
+        final DocumentKey key = DocumentKey.of(url, options);
+        
+        final Document cached = get(key);
+        
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return AsyncDocumentLoader
+                    .of(loader, executor)
+                    .loadDocumentAsync(url, options, executor)
+                    .thenApply(document -> put(key, document));
+    }
+    
+    private Document get(final DocumentKey key) {
+        
+        final Entry entry = cache.get(key);
+        
+        if (entry != null) {
+            
+            if (!entry.isExpired(System.nanoTime())) {
+                hitCount.incrementAndGet();
+                return entry.document;
+            }
+            
+            cache.remove(key);
+        }
+
+        missCount.incrementAndGet();
+        
+        return null;
+    }
+    
+    private Document put(final DocumentKey key, final Document document) {
+        
+        if (document != null) {
+            cache.put(key, new Entry(document, ttl > 0 ? System.nanoTime() + ttl : 0));
+        }
+
+        return document;
+    }
+    
+    /**
+     * Number of requests served from the cache.
+     * 
+     * @return number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Number of requests delegated to the wrapped loader.
+     * 
+     * @return number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+    
+    /**
+     * Number of cached documents, including expired documents not evicted yet.
+     * 
+     * @return number of cached documents
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Remove all cached documents. Statistics are not affected.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    private static final class Entry {
+        
+        final Document document;
+        
+        // System.nanoTime() based expiration, zero if never expires
+        final long expires;
+        
+        Entry(final Document document, final long expires) {
+            this.document = document;
+            this.expires = expires;
+        }
+        
+        boolean isExpired(final long now) {
+            return expires != 0 && now - expires >= 0;
+        }
+    }
+}
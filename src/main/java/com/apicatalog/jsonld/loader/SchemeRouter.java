@@ -3,12 +3,14 @@ package com.apicatalog.jsonld.loader;
 import java.net.URI;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import com.apicatalog.jsonld.api.JsonLdError;
 import com.apicatalog.jsonld.api.JsonLdErrorCode;
 import com.apicatalog.jsonld.document.Document;
 
-public final class SchemeRouter implements DocumentLoader {
+public final class SchemeRouter implements DocumentLoader, AsyncDocumentLoader {
 
     private static final DocumentLoader INSTANCE = 
                                 new SchemeRouter()
@@ -33,6 +35,38 @@ public final class SchemeRouter implements DocumentLoader {
 
     @Override
     public Document loadDocument(URI url, DocumentLoaderOptions options) throws JsonLdError {
+        return getLoader(url).loadDocument(url, options);
+    }
+
+    /**
+     * Route the request to the loader registered for the URL scheme. Loaders not implementing 
+     * {@link AsyncDocumentLoader} are called by the calling thread. 
+     */
+    @Override
+    public CompletableFuture<Document> loadDocumentAsync(URI url, DocumentLoaderOptions options) {
+        return loadDocumentAsync(url, options, null);
+    }
+
+    /**
+     * Route the request to the loader registered for the URL scheme. Loaders not implementing 
+     * {@link AsyncDocumentLoader} are called by the given executor. 
+     */
+    @Override
+    public CompletableFuture<Document> loadDocumentAsync(URI url, DocumentLoaderOptions options, Executor executor) {
+        
+        final DocumentLoader loader;
+        
+        try {
+            loader = getLoader(url);
+            
+        } catch (JsonLdError e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        return AsyncDocumentLoader.of(loader, executor).loadDocumentAsync(url, options, executor);
+    }
+    
+    private DocumentLoader getLoader(URI url) throws JsonLdError {
 
         if (url == null) {
             throw new IllegalArgumentException("The url must not be null.");
@@ -44,7 +78,7 @@ public final class SchemeRouter implements DocumentLoader {
             throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "URL scheme [" + url.getScheme() + "] is not supported.");
         }
         
-        return loader.loadDocument(url, options);
+        return loader;
     }
     
 }
@@ -0,0 +1,249 @@
+package com.apicatalog.jsonld.loader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.json.JsonStructure;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdErrorCode;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.http.media.MediaType;
+
+/**
+ * A {@link DocumentLoader} serving well-known contexts from classpath resources. 
+ * Requests for other documents are delegated to the given loader.
+ * <p>
+ * The registry is read from all {@value #INDEX} resources found on the classpath,
+ * so contexts can be bundled by any JAR. Each non empty line, except lines starting with <code>#</code>, 
+ * maps a context URL to a classpath resource, e.g.
+ * </p>
+ * <pre>
+ * https://www.w3.org/2018/credentials/v1   /contexts/credentials-v1.jsonld
+ * </pre>
+ * <p>
+ * The index and the resources are read by the class loader of this class. 
+ * A resource is parsed once, on its first use, and then shared by all requests.
+ * </p>
+ * <p>
+ * The library does not register any context, a served context replaces the published document 
+ * so it must be a byte-exact copy of it. Contexts are registered by an application, 
+ * by {@value #INDEX} resources it bundles or by {@link #set(String, String)}.
+ * </p>
+ */
+public final class StaticContextLoader implements DocumentLoader, AsyncDocumentLoader {
+
+    private static final Logger LOGGER = Logger.getLogger(StaticContextLoader.class.getName());
+    
+    public static final String INDEX = "META-INF/jsonld-contexts.txt";
+    
+    private final DocumentLoader loader;
+    
+    private final ClassLoader classLoader;
+
+    private final Map<String, String> resources;
+    
+    private final Map<String, JsonStructure> contexts;
+
+    /**
+     * Create a new loader with contexts registered by {@value #INDEX} resources. 
+     *  
+     * @param loader used to retrieve documents not found in the registry
+     */
+    public StaticContextLoader(final DocumentLoader loader) {
+        this(loader, true);
+    }
+    
+    private StaticContextLoader(final DocumentLoader loader, final boolean readIndex) {
+        
+        if (loader == null) {
+            throw new IllegalArgumentException("The loader must not be null.");
+        }
+        
+        this.loader = loader;
+        this.classLoader = classLoader();
+        this.resources = new ConcurrentHashMap<>();
+        this.contexts = new ConcurrentHashMap<>();
+        
+        if (readIndex) {
+            readIndex(classLoader, resources);
+        }
+    }
+
+    /**
+     * Create a new loader with no contexts registered.
+     *  
+     * @param loader used to retrieve documents not found in the registry
+     * @return a new {@link StaticContextLoader} instance
+     */
+    public static final StaticContextLoader empty(final DocumentLoader loader) {
+        return new StaticContextLoader(loader, false);
+    }
+    
+    /**
+     * Register a context.
+     * 
+     * @param url the context URL
+     * @param resourceName an absolute classpath resource name, e.g. <code>/contexts/credentials-v1.jsonld</code>
+     * @return the loader instance
+     */
+    public StaticContextLoader set(final String url, final String resourceName) {
+        
+        if (url == null || resourceName == null) {
+            throw new IllegalArgumentException("The url and the resource name must not be null.");
+        }
+        
+        resources.put(url, resourceName);
+        contexts.remove(url);
+        return this;
+    }
+
+    /**
+     * Check if the given context URL is registered.
+     * 
+     * @param url the context URL
+     * @return <code>true</code> if the context is served from the classpath
+     */
+    public boolean contains(final String url) {
+        return resources.containsKey(url);
+    }
+    
+    @Override
+    public Document loadDocument(final URI url, final DocumentLoaderOptions options) throws JsonLdError {
+
+        final String key = url.toString();
+        
+        final String resourceName = resources.get(key);
+        
+        if (resourceName == null) {
+            return loader.loadDocument(url, options);
+        }
+        
+        return load(url, key, resourceName);
+    }
+
+    /**
+     * Registered contexts are served by the calling thread, other documents are retrieved 
+     * asynchronously if the wrapped loader is {@link AsyncDocumentLoader}.
+     */
+    @Override
+    public CompletableFuture<Document> loadDocumentAsync(final URI url, final DocumentLoaderOptions options) {
+        return loadDocumentAsync(url, options, null);
+    }
+
+    /**
+     * Registered contexts are served by the calling thread, other documents are retrieved 
+     * asynchronously if the wrapped loader is {@link AsyncDocumentLoader}, or by the given executor.
+     */
+    @Override
+    public CompletableFuture<Document> loadDocumentAsync(final URI url, final DocumentLoaderOptions options, final Executor executor) {
+
+        final String key = url.toString();
+        
+        final String resourceName = resources.get(key);
+        
+        if (resourceName == null) {
+            return AsyncDocumentLoader.of(loader, executor).loadDocumentAsync(url, options, executor);
+        }
+        
+        try {
+            return CompletableFuture.completedFuture(load(url, key, resourceName));
+            
+        } catch (JsonLdError e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private Document load(final URI url, final String key, final String resourceName) throws JsonLdError {
+        
+        JsonStructure context = contexts.get(key);
+        
+        if (context == null) {
+            context = parse(resourceName);
+            contexts.putIfAbsent(key, context);
+        }
+        
+        // a new document instance for each request, the parsed content is immutable
+        final Document document = JsonDocument.of(MediaType.JSON_LD, context);
+        document.setDocumentUrl(url);
+        
+        return document;
+    }
+    
+    private final JsonStructure parse(final String resourceName) throws JsonLdError {
+        
+        // class loader resource names are absolute, with no leading slash
+        try (final InputStream is = classLoader.getResourceAsStream(resourceName.startsWith("/") ? resourceName.substring(1) : resourceName)) {
+
+            if (is == null) {
+                throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Resource [" + resourceName + "] not found.");
+            }
+            
+            return JsonDocument
+                        .of(MediaType.JSON_LD, is)
+                        .getJsonContent()
+                        .orElseThrow(() -> new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Resource [" + resourceName + "] is not JSON."));
+            
+        } catch (IOException e) {
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, e);
+        }
+    }
+    
+    private static final ClassLoader classLoader() {
+        
+        final ClassLoader classLoader = StaticContextLoader.class.getClassLoader();
+        
+        return classLoader != null ? classLoader : ClassLoader.getSystemClassLoader();
+    }
+    
+    private static final void readIndex(final ClassLoader classLoader, final Map<String, String> resources) {
+
+        try {
+            final Enumeration<URL> indices = classLoader.getResources(INDEX);
+            
+            while (indices.hasMoreElements()) {
+                
+                final URL index = indices.nextElement();
+                
+                try (final BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+                    
+                    String line;
+                    
+                    while ((line = reader.readLine()) != null) {
+                        
+                        line = line.strip();
+                        
+                        if (line.isEmpty() || line.startsWith("#")) {
+                            continue;
+                        }
+                        
+                        final String[] entry = line.split("\\s+");
+                        
+                        if (entry.length != 2) {
+                            LOGGER.log(Level.WARNING, "Invalid context registry entry [{0}] in [{1}].", new Object[] { line, index });
+                            continue;
+                        }
+                        
+                        resources.putIfAbsent(entry[0], entry[1]);
+                    }
+                }
+            }
+            
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to read context registry [" + INDEX + "].", e);
+        }
+    }
+}
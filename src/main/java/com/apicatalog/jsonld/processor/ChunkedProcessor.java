@@ -0,0 +1,215 @@
+package com.apicatalog.jsonld.processor;
+
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.compaction.Compaction;
+import com.apicatalog.jsonld.context.ActiveContext;
+import com.apicatalog.jsonld.context.PreparedContext;
+import com.apicatalog.jsonld.deseralization.JsonLdToRdf;
+import com.apicatalog.jsonld.flattening.BlankNodeIdGenerator;
+import com.apicatalog.jsonld.flattening.NodeMap;
+import com.apicatalog.jsonld.flattening.NodeMapBuilder;
+import com.apicatalog.jsonld.json.JsonUtils;
+import com.apicatalog.rdf.Rdf;
+import com.apicatalog.rdf.RdfDataset;
+
+/**
+ * Processes a document consisting of a large number of independent nodes, i.e.
+ * a top-level array or a top-level <code>@graph</code>, in batches.
+ * <p>
+ * The document is read incrementally by {@link StreamingExpansionProcessor}
+ * and each batch of expanded nodes is processed and emitted as soon as it is complete,
+ * so the memory consumption depends on the batch size and not on the document size.
+ * All batches share the active context.
+ * </p>
+ * <p>
+ * Nodes are processed independently of each other, so a node described by
+ * several members of the document is not merged.
+ * </p>
+ */
+public final class ChunkedProcessor {
+
+    private ChunkedProcessor() {
+    }
+
+    /**
+     * Expands the document.
+     *
+     * @param parser positioned before the document's top-level element
+     * @param options used to expand the document
+     * @param batchSize the maximal number of expanded nodes in a batch
+     * @param consumer accepting batches of expanded nodes in the document order
+     * @throws JsonLdError if the document cannot be expanded
+     */
+    public static final void expand(final JsonParser parser, final JsonLdOptions options, final int batchSize, final Consumer<JsonArray> consumer) throws JsonLdError {
+
+        if (consumer == null) {
+            throw new IllegalArgumentException("The consumer parameter cannot be null.");
+        }
+
+        process(parser, options, batchSize, consumer::accept);
+    }
+
+    /**
+     * Transforms the document into RDF. Blank node identifiers are shared by all emitted datasets.
+     *
+     * @param parser positioned before the document's top-level element
+     * @param options used to expand and to transform the document
+     * @param batchSize the maximal number of expanded nodes transformed into one dataset
+     * @param consumer accepting datasets in the document order
+     * @throws JsonLdError if the document cannot be transformed
+     */
+    public static final void toRdf(final JsonParser parser, final JsonLdOptions options, final int batchSize, final Consumer<RdfDataset> consumer) throws JsonLdError {
+
+        if (consumer == null) {
+            throw new IllegalArgumentException("The consumer parameter cannot be null.");
+        }
+
+        final BlankNodeIdGenerator generator = new BlankNodeIdGenerator();
+
+        process(parser, options, batchSize, batch ->
+                    consumer.accept(JsonLdToRdf
+                                        .with(
+                                            NodeMapBuilder.with(batch, new NodeMap(generator)).build(),
+                                            Rdf.createDataset()
+                                            )
+                                        .produceGeneralizedRdf(options.isProduceGeneralizedRdf())
+                                        .rdfDirection(options.getRdfDirection())
+                                        .build())
+                    );
+    }
+
+    /**
+     * Compacts the document. Each batch holds compacted nodes, the context is
+     * not included.
+     *
+     * @param parser positioned before the document's top-level element
+     * @param context used to compact the nodes
+     * @param options used to expand and to compact the document
+     * @param batchSize the maximal number of compacted nodes in a batch
+     * @param consumer accepting batches of compacted nodes in the document order
+     * @throws JsonLdError if the document cannot be compacted
+     */
+    public static final void compact(final JsonParser parser, final PreparedContext context, final JsonLdOptions options, final int batchSize, final Consumer<JsonArray> consumer) throws JsonLdError {
+
+        if (context == null || consumer == null) {
+            throw new IllegalArgumentException("The context and consumer parameters cannot be null.");
+        }
+
+        final ActiveContext activeContext = context.newActiveContext(options);
+
+        if (options.getBase() != null) {
+            activeContext.setBaseUri(options.getBase());
+        }
+
+        final Compaction compaction = Compaction
+                                        .with(activeContext)
+                                        .compactArrays(options.isCompactArrays())
+                                        .ordered(options.isOrdered());
+
+        final JsonLdOptions expansionOptions = new JsonLdOptions(options);
+        expansionOptions.setOrdered(false);
+
+        process(parser, expansionOptions, batchSize, batch -> {
+
+            final JsonArrayBuilder compacted = Json.createArrayBuilder();
+
+            for (final JsonValue node : batch) {
+
+                final JsonValue compactedNode = compaction.compact(node);
+
+                if (JsonUtils.isObject(compactedNode) && !compactedNode.asJsonObject().isEmpty()) {
+                    compacted.add(compactedNode);
+                }
+            }
+
+            consumer.accept(compacted.build());
+        });
+    }
+
+    private static final void process(final JsonParser parser, final JsonLdOptions options, final int batchSize, final BatchProcessor processor) throws JsonLdError {
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be greater than zero but is [" + batchSize + "].");
+        }
+
+        final Batch batch = new Batch(batchSize, processor);
+
+        try {
+            StreamingExpansionProcessor.expand(parser, options, batch);
+
+            batch.flush();
+
+        } catch (CompletionException e) {
+
+            if (e.getCause() instanceof JsonLdError) {
+                throw (JsonLdError) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BatchProcessor {
+
+        void process(JsonArray batch) throws JsonLdError;
+    }
+
+    private static final class Batch implements Consumer<JsonObject> {
+
+        private final int size;
+
+        private final BatchProcessor processor;
+
+        private JsonArrayBuilder nodes;
+
+        private int count;
+
+        Batch(final int size, final BatchProcessor processor) {
+            this.size = size;
+            this.processor = processor;
+            this.nodes = Json.createArrayBuilder();
+            this.count = 0;
+        }
+
+        @Override
+        public void accept(final JsonObject node) {
+
+            nodes.add(node);
+
+            if (++count == size) {
+                try {
+                    flush();
+
+                } catch (JsonLdError e) {
+                    throw new CompletionException(e);
+                }
+            }
+        }
+
+        void flush() throws JsonLdError {
+
+            if (count == 0) {
+                return;
+            }
+
+            final JsonArray batch = nodes.build();
+
+            nodes = Json.createArrayBuilder();
+            count = 0;
+
+            processor.process(batch);
+        }
+    }
+}
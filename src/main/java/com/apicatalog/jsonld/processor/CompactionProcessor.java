@@ -6,12 +6,14 @@ import javax.json.Json;
 import javax.json.JsonArray;
 import javax.json.JsonObject;
 import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
 
 import com.apicatalog.jsonld.api.JsonLdError;
 import com.apicatalog.jsonld.api.JsonLdErrorCode;
 import com.apicatalog.jsonld.api.JsonLdOptions;
 import com.apicatalog.jsonld.compaction.Compaction;
 import com.apicatalog.jsonld.context.ActiveContext;
+import com.apicatalog.jsonld.context.PreparedContext;
 import com.apicatalog.jsonld.document.Document;
 import com.apicatalog.jsonld.json.JsonUtils;
 import com.apicatalog.jsonld.lang.Keywords;
@@ -28,21 +30,75 @@ public final class CompactionProcessor {
     }
     
     public static final JsonObject compact(final URI input, final URI context, final JsonLdOptions options) throws JsonLdError {
+        return compact(input, loadContext(context, options), options);
+    }
+    
+    public static final JsonObject compact(final URI input, final Document context, final JsonLdOptions options) throws JsonLdError {
+        return compact(loadInput(input, options), context, options);
+    }
 
-        if (options.getDocumentLoader() == null) {
-            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED);
-        }
-        
-        final Document contextDocument = options.getDocumentLoader().loadDocument(context, new DocumentLoaderOptions());
+    public static final JsonObject compact(final Document input, final Document context, final JsonLdOptions options) throws JsonLdError {
 
-        if (contextDocument == null) {
-            throw new JsonLdError(JsonLdErrorCode.INVALID_REMOTE_CONTEXT, "Context[" + context + "] is null.");
-        }
+        // 4.
+        final JsonArray expandedInput = expand(input, options);
 
-        return compact(input, contextDocument, options);
+        // 5., 6., 7.
+        return compact(input, expandedInput, prepare(input, context, options), options);
+    }
+
+    public static final JsonObject compact(final URI input, final PreparedContext context, final JsonLdOptions options) throws JsonLdError {
+        return compact(loadInput(input, options), context, options);
+    }
+
+    public static final JsonObject compact(final Document input, final PreparedContext context, final JsonLdOptions options) throws JsonLdError {
+        return compact(input, expand(input, options), context, options);
+    }
+
+    public static final void compact(final URI input, final URI context, final JsonLdOptions options, final JsonGenerator output) throws JsonLdError {
+        compact(input, loadContext(context, options), options, output);
+    }
+
+    public static final void compact(final URI input, final Document context, final JsonLdOptions options, final JsonGenerator output) throws JsonLdError {
+        compact(loadInput(input, options), context, options, output);
+    }
+
+    public static final void compact(final Document input, final Document context, final JsonLdOptions options, final JsonGenerator output) throws JsonLdError {
+
+        // 4.
+        final JsonArray expandedInput = expand(input, options);
+
+        // 5., 6., 7.
+        write(input, expandedInput, prepare(input, context, options), options, output);
+    }
+
+    public static final void compact(final URI input, final PreparedContext context, final JsonLdOptions options, final JsonGenerator output) throws JsonLdError {
+        compact(loadInput(input, options), context, options, output);
+    }
+
+    /**
+     * Compacts the given document and writes the result to the generator.
+     * <p>
+     * Top-level nodes are compacted and written one by one, the compacted
+     * document is never held in memory as a whole. The written document is
+     * equal to the document returned by
+     * {@link #compact(Document, PreparedContext, JsonLdOptions)} except for the
+     * order of entries, the <code>@context</code> entry is written first.
+     * </p>
+     * <p>
+     * The generator is neither flushed nor closed.
+     * </p>
+     *
+     * @param input the document to compact
+     * @param context the context to compact the document with
+     * @param options used to expand and to compact the document
+     * @param output to write the compacted document to
+     * @throws JsonLdError if the document cannot be compacted
+     */
+    public static final void compact(final Document input, final PreparedContext context, final JsonLdOptions options, final JsonGenerator output) throws JsonLdError {
+        write(input, expand(input, options), context, options, output);
     }
-    
-    public static final JsonObject compact(final URI input, final Document context, final JsonLdOptions options) throws JsonLdError {
+
+    private static final Document loadInput(final URI input, final JsonLdOptions options) throws JsonLdError {
 
         if (options.getDocumentLoader() == null) {
             throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED);
@@ -59,17 +115,25 @@ public final class CompactionProcessor {
             throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED);
         }
         
-        return compact(remoteDocument, context, options);
+        return remoteDocument;
     }
 
-    public static final JsonObject compact(final Document input, final Document context, final JsonLdOptions options) throws JsonLdError {
+    private static final Document loadContext(final URI context, final JsonLdOptions options) throws JsonLdError {
 
-        // 4.
-        final JsonLdOptions expansionOptions = new JsonLdOptions(options);
-        expansionOptions.setOrdered(false);
-        expansionOptions.setExtractAllScripts(false);
+        if (options.getDocumentLoader() == null) {
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED);
+        }
         
-        JsonArray expandedInput = ExpansionProcessor.expand(input, expansionOptions, false);
+        final Document contextDocument = options.getDocumentLoader().loadDocument(context, new DocumentLoaderOptions());
+
+        if (contextDocument == null) {
+            throw new JsonLdError(JsonLdErrorCode.INVALID_REMOTE_CONTEXT, "Context[" + context + "] is null.");
+        }
+
+        return contextDocument;
+    }
+
+    private static final PreparedContext prepare(final Document input, final Document context, final JsonLdOptions options) throws JsonLdError {
 
         // 5.
         URI contextBase = input.getDocumentUrl();
@@ -79,20 +143,22 @@ public final class CompactionProcessor {
         }
         
         // 6.
-        JsonValue contextValue = context.getJsonContent().orElse(JsonValue.EMPTY_JSON_OBJECT);
-        
-        if (JsonUtils.isArray(contextValue) && contextValue.asJsonArray().size() == 1) {
-            contextValue = contextValue.asJsonArray().get(0);
-        }
-        
-        if (JsonUtils.isObject(contextValue) && contextValue.asJsonObject().containsKey(Keywords.CONTEXT)) {
-            contextValue = contextValue.asJsonObject().get(Keywords.CONTEXT);
-        }
+        return PreparedContext.of(context, contextBase, options);
+    }
+
+    private static final JsonArray expand(final Document input, final JsonLdOptions options) throws JsonLdError {
+
+        final JsonLdOptions expansionOptions = new JsonLdOptions(options);
+        expansionOptions.setOrdered(false);
+        expansionOptions.setExtractAllScripts(false);
         
+        return ExpansionProcessor.expand(input, expansionOptions, false);
+    }
+
+    private static final ActiveContext newActiveContext(final Document input, final PreparedContext context, final JsonLdOptions options) throws JsonLdError {
+
         // 7.
-        ActiveContext activeContext = new ActiveContext(options);
-        
-        activeContext = activeContext.newContext().create(contextValue, contextBase);
+        final ActiveContext activeContext = context.newActiveContext(options);
 
         // 8.
         if (options.getBase() != null) {
@@ -101,6 +167,16 @@ public final class CompactionProcessor {
         } else if (activeContext.getBaseUri() == null && options.isCompactToRelative()) {
             activeContext.setBaseUri(input.getDocumentUrl());            
         }
+
+        return activeContext;
+    }
+
+    private static final JsonObject compact(final Document input, final JsonArray expandedInput, final PreparedContext context, final JsonLdOptions options) throws JsonLdError {
+
+        final JsonValue contextValue = context.getContext();
+
+        // 7., 8.
+        final ActiveContext activeContext = newActiveContext(input, context, options);
         
         // 9.
         JsonValue compactedOutput = Compaction
@@ -128,7 +204,7 @@ public final class CompactionProcessor {
         }
         
         // 9.3.
-        if (JsonUtils.isNotNull(contextValue) && JsonUtils.isNotEmptyArray(contextValue) && JsonUtils.isNotEmptyObject(contextValue)) {
+        if (isIncluded(contextValue)) {
             compactedOutput = Json.createObjectBuilder(compactedOutput.asJsonObject())
                                     .add(Keywords.CONTEXT, contextValue)
                                     .build();            
@@ -136,4 +212,93 @@ public final class CompactionProcessor {
 
         return compactedOutput.asJsonObject();            
     }
+
+    /**
+     * Writes the compacted document, steps 9. - 9.3. are applied as the
+     * top-level nodes are compacted. The first node is held back until it is
+     * known whether the output is a single node or a <code>@graph</code>.
+     */
+    private static final void write(final Document input, final JsonArray expandedInput, final PreparedContext context, final JsonLdOptions options, final JsonGenerator output) throws JsonLdError {
+
+        if (output == null) {
+            throw new IllegalArgumentException("The output parameter cannot be null.");
+        }
+
+        final JsonValue contextValue = context.getContext();
+
+        // 7., 8.
+        final ActiveContext activeContext = newActiveContext(input, context, options);
+        
+        // 9.
+        final Compaction compaction = Compaction
+                                        .with(activeContext)
+                                        .compactArrays(options.isCompactArrays())
+                                        .ordered(options.isOrdered());
+
+        JsonValue first = null;
+        boolean graph = false;
+
+        for (final JsonValue item : expandedInput) {
+
+            final JsonValue compactedItem = compaction.compact(item);
+
+            if (JsonUtils.isNull(compactedItem)) {
+                continue;
+            }
+
+            if (graph) {
+                output.write(compactedItem);
+                continue;
+            }
+
+            if (first == null && options.isCompactArrays()) {
+                first = compactedItem;
+                continue;
+            }
+
+            // 9.2.
+            output.writeStartObject();
+
+            // 9.3.
+            if (isIncluded(contextValue)) {
+                output.write(Keywords.CONTEXT, contextValue);
+            }
+
+            output.writeStartArray(activeContext.uriCompaction().vocab(true).compact(Keywords.GRAPH));
+
+            if (first != null) {
+                output.write(first);
+                first = null;
+            }
+
+            output.write(compactedItem);
+
+            graph = true;
+        }
+
+        if (graph) {
+            output.writeEnd();
+            output.writeEnd();
+            return;
+        }
+
+        output.writeStartObject();
+
+        // 9.1.
+        if (JsonUtils.isObject(first) && !first.asJsonObject().isEmpty()) {
+
+            // 9.3.
+            if (isIncluded(contextValue)) {
+                output.write(Keywords.CONTEXT, contextValue);
+            }
+
+            first.asJsonObject().forEach(output::write);
+        }
+
+        output.writeEnd();
+    }
+
+    private static final boolean isIncluded(final JsonValue contextValue) {
+        return JsonUtils.isNotNull(contextValue) && JsonUtils.isNotEmptyArray(contextValue) && JsonUtils.isNotEmptyObject(contextValue);
+    }
 }
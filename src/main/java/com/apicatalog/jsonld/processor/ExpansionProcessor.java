@@ -13,6 +13,7 @@ import com.apicatalog.jsonld.api.JsonLdError;
 import com.apicatalog.jsonld.api.JsonLdErrorCode;
 import com.apicatalog.jsonld.api.JsonLdOptions;
 import com.apicatalog.jsonld.context.ActiveContext;
+import com.apicatalog.jsonld.context.ContextPrefetcher;
 import com.apicatalog.jsonld.document.Document;
 import com.apicatalog.jsonld.expansion.Expansion;
 import com.apicatalog.jsonld.json.JsonUtils;
@@ -49,7 +50,7 @@ public final class ExpansionProcessor {
         return expand(remoteDocument, options, false);
     }
 
-    public static final JsonArray expand(Document input, final JsonLdOptions options, boolean frameExpansion) throws JsonLdError {
+    public static final JsonArray expand(Document input, final JsonLdOptions expansionOptions, boolean frameExpansion) throws JsonLdError {
 
         if (input == null) {
             throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "RemoteDocument is null.");
@@ -74,12 +75,16 @@ public final class ExpansionProcessor {
         }
 
         if (baseUrl == null) {
-            baseUrl = options.getBase();
+            baseUrl = expansionOptions.getBase();
         }
-        if (options.getBase() != null) {
-            baseUri = options.getBase();
+        if (expansionOptions.getBase() != null) {
+            baseUri = expansionOptions.getBase();
         }
         
+        final JsonLdOptions options = expansionOptions.isPrefetchContexts() && expansionOptions.getDocumentLoader() != null
+                                        ? prefetch(input, jsonStructure, baseUrl, expansionOptions)
+                                        : expansionOptions;
+        
         ActiveContext activeContext = new ActiveContext(baseUri, baseUrl, options);
 
         // 6. If the expandContext option in options is set, update the active context
@@ -87,31 +92,8 @@ public final class ExpansionProcessor {
         // local context and the original base URL from active context as base URL.
         // If expandContext is a map having an @context entry, pass that entry's value
         // instead for local context.
-        if (options.getExpandContext() != null) {
-            
-            final Optional<JsonStructure> contextValue = options.getExpandContext().getJsonContent();
-
-            if (contextValue.isPresent()) {
-                
-                final JsonArray expandedContext = JsonUtils.toJsonArray(contextValue.get());
-                
-                if (expandedContext.size() == 1 
-                        && JsonUtils.isObject(expandedContext.get(0)) 
-                        && expandedContext.getJsonObject(0).containsKey(Keywords.CONTEXT)
-                        ) {
-                    
-                    activeContext = activeContext
-                                        .newContext()
-                                            .create(
-                                                expandedContext.getJsonObject(0).get(Keywords.CONTEXT), 
-                                                baseUrl);
-                    
-                } else {
-                    activeContext = activeContext.newContext().create(expandedContext, baseUrl);   
-                }
-            }
-        }
-        
+        activeContext = applyExpandContext(activeContext, baseUrl, options);
+
         // 7.
         if (input.getContextUrl() != null) {
             activeContext = activeContext
@@ -144,4 +126,66 @@ public final class ExpansionProcessor {
         // 8.3
         return JsonUtils.toJsonArray(expanded);
     }
+
+
+    static final ActiveContext applyExpandContext(final ActiveContext activeContext, final URI baseUrl, final JsonLdOptions options) throws JsonLdError {
+
+        if (options.getExpandContext() == null) {
+            return activeContext;
+        }
+
+        final Optional<JsonStructure> contextValue = options.getExpandContext().getJsonContent();
+
+        if (!contextValue.isPresent()) {
+            return activeContext;
+        }
+
+        return activeContext.newContext().create(localContext(contextValue.get()), baseUrl);
+    }
+
+    /**
+     * Unwrap an expand context, i.e. return a value of <code>@context</code> entry
+     * if the expand context is an object with <code>@context</code> entry.
+     * 
+     * @return the local context
+     */
+    private static final JsonValue localContext(final JsonStructure expandContext) {
+        
+        final JsonArray expandedContext = JsonUtils.toJsonArray(expandContext);
+
+        if (expandedContext.size() == 1
+                && JsonUtils.isObject(expandedContext.get(0))
+                && expandedContext.getJsonObject(0).containsKey(Keywords.CONTEXT)
+                ) {
+
+            return expandedContext.getJsonObject(0).get(Keywords.CONTEXT);
+        }
+
+        return expandedContext;
+    }
+    
+    /**
+     * Load all remote contexts referenced by the input document at once.
+     * 
+     * @return a copy of the given options with the loader serving prefetched contexts
+     */
+    private static final JsonLdOptions prefetch(final Document input, final JsonStructure jsonStructure, final URI baseUrl, final JsonLdOptions options) {
+        
+        final ContextPrefetcher prefetcher = ContextPrefetcher.with(options.getDocumentLoader()).executor(options.getContextExecutor());
+        
+        if (options.getExpandContext() != null) {
+            options.getExpandContext().getJsonContent().ifPresent(context -> prefetcher.context(localContext(context), baseUrl));
+        }
+        
+        if (input.getContextUrl() != null) {
+            prefetcher.context(Json.createValue(input.getContextUrl().toString()), null);
+        }
+        
+        prefetcher.document(jsonStructure, baseUrl);
+
+        final JsonLdOptions prefetchedOptions = new JsonLdOptions(options);
+        prefetchedOptions.setDocumentLoader(prefetcher.prefetch());
+        
+        return prefetchedOptions;
+    }
 }
@@ -8,6 +8,7 @@ import javax.json.JsonStructure;
 import com.apicatalog.jsonld.api.JsonLdError;
 import com.apicatalog.jsonld.api.JsonLdErrorCode;
 import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.context.PreparedContext;
 import com.apicatalog.jsonld.document.Document;
 import com.apicatalog.jsonld.document.JsonDocument;
 import com.apicatalog.jsonld.flattening.Flattening;
@@ -76,6 +77,50 @@ public final class FlatteningProcessor {
 
     public static final JsonStructure flatten(final Document input, final Document context, final JsonLdOptions options) throws JsonLdError {
         
+        final JsonStructure flattenedOutput = flatten(input, options);
+
+        // 6.1.
+        if (context != null) {
+            return CompactionProcessor.compact(JsonDocument.of(MediaType.JSON_LD, flattenedOutput), context, compactionOptions(input, options));
+        }
+        
+        return flattenedOutput;            
+    }
+
+    public static final JsonStructure flatten(final URI input, final PreparedContext context, final JsonLdOptions options) throws JsonLdError {
+        
+        if (options.getDocumentLoader() == null) {
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED);
+        }
+
+        final Document remoteDocument = 
+                                options
+                                    .getDocumentLoader()
+                                    .loadDocument(input,
+                                            new DocumentLoaderOptions()
+                                                    .setExtractAllScripts(options.isExtractAllScripts()));
+
+        if (remoteDocument == null) {
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED);
+        }
+        
+        return flatten(remoteDocument, context, options);
+    }
+
+    public static final JsonStructure flatten(final Document input, final PreparedContext context, final JsonLdOptions options) throws JsonLdError {
+        
+        final JsonStructure flattenedOutput = flatten(input, options);
+
+        // 6.1.
+        if (context != null) {
+            return CompactionProcessor.compact(JsonDocument.of(MediaType.JSON_LD, flattenedOutput), context, compactionOptions(input, options));
+        }
+        
+        return flattenedOutput;            
+    }
+
+    private static final JsonStructure flatten(final Document input, final JsonLdOptions options) throws JsonLdError {
+        
         // 4.
         final JsonLdOptions expansionOptions = new JsonLdOptions(options);
         expansionOptions.setOrdered(false);
@@ -84,25 +129,20 @@ public final class FlatteningProcessor {
         
         // 5.
         // 6.
-        JsonStructure flattenedOutput = Flattening.with(expandedInput).ordered(options.isOrdered()).flatten();
+        return Flattening.with(expandedInput).ordered(options.isOrdered()).flatten();
+    }
 
-        // 6.1.
-        if (context != null) {
-         
-            final Document document = JsonDocument.of(MediaType.JSON_LD, flattenedOutput);
-            
-            JsonLdOptions compactionOptions = new JsonLdOptions(options);
-            
-            if (options.getBase() != null) {
-                compactionOptions.setBase(options.getBase());
-                
-            } else if (options.isCompactArrays()) {
-                compactionOptions.setBase(input.getDocumentUrl());
-            }
+    private static final JsonLdOptions compactionOptions(final Document input, final JsonLdOptions options) {
+
+        final JsonLdOptions compactionOptions = new JsonLdOptions(options);
+        
+        if (options.getBase() != null) {
+            compactionOptions.setBase(options.getBase());
             
-            flattenedOutput = CompactionProcessor.compact(document, context, compactionOptions);
+        } else if (options.isCompactArrays()) {
+            compactionOptions.setBase(input.getDocumentUrl());
         }
-        
-        return flattenedOutput;            
+
+        return compactionOptions;
     }
 }
@@ -0,0 +1,185 @@
+package com.apicatalog.jsonld.processor;
+
+import java.io.Reader;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdErrorCode;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.context.ActiveContext;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.expansion.Expansion;
+import com.apicatalog.jsonld.json.JsonUtils;
+import com.apicatalog.jsonld.lang.Keywords;
+
+/**
+ * Expands a document read from {@link JsonParser} events and emits expanded
+ * node objects one by one, without materializing the whole document.
+ * <p>
+ * A document is streamed if it is a top-level array or a top-level object
+ * consisting of a <code>@context</code> entry followed by a <code>@graph</code>
+ * entry, as in the streaming document form. Only a single member of the array or
+ * the graph is held in memory at a time. An entry following a streamed
+ * <code>@graph</code> entry, e.g. <code>@id</code> making it a named graph,
+ * is rejected.
+ * </p>
+ * <p>
+ * Any other top-level object is buffered and expanded as a whole, including
+ * an object starting with the <code>@graph</code> entry. A <code>@context</code>
+ * or <code>@id</code> entry can follow the graph in that case, so its members
+ * cannot be expanded before the whole object is read. Each member is expanded as a whole as well, so a
+ * <code>@context</code> or <code>@type</code> entry of a member can appear
+ * in any position.
+ * </p>
+ *
+ * @see ExpansionProcessor
+ */
+public final class StreamingExpansionProcessor {
+
+    private StreamingExpansionProcessor() {
+    }
+
+    public static final void expand(final Reader reader, final JsonLdOptions options, final Consumer<JsonObject> consumer) throws JsonLdError {
+
+        if (reader == null) {
+            throw new IllegalArgumentException("The reader parameter cannot be null.");
+        }
+
+        try (final JsonParser parser = Json.createParser(reader)) {
+
+            expand(parser, options, consumer);
+        }
+    }
+
+    /**
+     * Expands a document provided by the given parser. The base option
+     * is used as the document location.
+     *
+     * @param parser positioned before the document's top-level element
+     * @param options used to expand the document
+     * @param consumer accepting expanded node objects in the document order
+     * @throws JsonLdError if the document cannot be expanded
+     */
+    public static final void expand(final JsonParser parser, final JsonLdOptions options, final Consumer<JsonObject> consumer) throws JsonLdError {
+
+        if (parser == null || options == null || consumer == null) {
+            throw new IllegalArgumentException("The parser, options and consumer parameters cannot be null.");
+        }
+
+        try {
+            if (!parser.hasNext()) {
+                throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Nothing to read. Provided document is empty.");
+            }
+
+            final URI baseUrl = options.getBase();
+
+            final ActiveContext activeContext = ExpansionProcessor.applyExpandContext(new ActiveContext(baseUrl, baseUrl, options), baseUrl, options);
+
+            switch (parser.next()) {
+            case START_ARRAY:
+                expandArray(parser, activeContext, null, baseUrl, options, consumer);
+                return;
+
+            case START_OBJECT:
+                expandObject(parser, activeContext, baseUrl, options, consumer);
+                return;
+
+            default:
+                throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "JSON document's top level element must be JSON array or object.");
+            }
+
+        } catch (JsonException e) {
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, e);
+        }
+    }
+
+    /**
+     * Expands array members one by one, the parser is positioned at the array start.
+     */
+    private static final void expandArray(final JsonParser parser, final ActiveContext activeContext, final String activeProperty, final URI baseUrl,
+            final JsonLdOptions options, final Consumer<JsonObject> consumer) throws JsonLdError {
+
+        while (parser.next() != Event.END_ARRAY) {
+
+            final JsonValue expanded = Expansion
+                                            .with(activeContext, parser.getValue(), activeProperty, baseUrl)
+                                            .ordered(options.isOrdered())
+                                            .compute();
+
+            emit(expanded, consumer);
+        }
+    }
+
+    private static final void expandObject(final JsonParser parser, final ActiveContext initialContext, final URI baseUrl,
+            final JsonLdOptions options, final Consumer<JsonObject> consumer) throws JsonLdError {
+
+        final Map<String, JsonValue> buffer = new LinkedHashMap<>();
+
+        ActiveContext activeContext = initialContext;
+
+        Event event = parser.next();
+
+        while (event != Event.END_OBJECT) {
+
+            final String key = parser.getString();
+
+            event = parser.next();
+
+            if (buffer.isEmpty() && Keywords.CONTEXT.equals(key)) {
+
+                final JsonValue context = parser.getValue();
+
+                activeContext = activeContext.newContext().create(context, baseUrl);
+
+                buffer.put(key, context);
+
+            } else if (event == Event.START_ARRAY
+                        && buffer.size() == 1 && buffer.containsKey(Keywords.CONTEXT)
+                        && Keywords.GRAPH.equals(activeContext.uriExpansion().vocab(true).expand(key))
+                        ) {
+
+                expandArray(parser, activeContext, Keywords.GRAPH, baseUrl, options, consumer);
+
+                // an entry following the graph makes the document a named graph
+                if (parser.next() != Event.END_OBJECT) {
+                    throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED,
+                            "A streamed top-level object cannot have an entry following the @graph entry but has [" + parser.getString() + "].");
+                }
+                return;
+
+            } else {
+                buffer.put(key, parser.getValue());
+            }
+
+            event = parser.next();
+        }
+
+        // the object is not a top-level graph, expand it as a whole
+        final JsonObjectBuilder object = Json.createObjectBuilder();
+
+        buffer.forEach(object::add);
+
+        emit(ExpansionProcessor.expand(JsonDocument.of(object.build()), options, false), consumer);
+    }
+
+    private static final void emit(final JsonValue expanded, final Consumer<JsonObject> consumer) {
+
+        if (JsonUtils.isArray(expanded)) {
+            expanded.asJsonArray().forEach(item -> emit(item, consumer));
+
+        } else if (JsonUtils.isObject(expanded)) {
+            consumer.accept(expanded.asJsonObject());
+        }
+    }
+}
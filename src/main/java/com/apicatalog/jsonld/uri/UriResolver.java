@@ -18,7 +18,7 @@ public final class UriResolver {
 
     public static final String resolve(final URI base, final String relative) {
         
-        if (base == null) {
+        if (base == null || UriUtils.isResolved(relative)) {
             return relative;
         }
 
@@ -6,14 +6,47 @@ import com.apicatalog.jsonld.lang.Keywords;
 
 public final class UriUtils {
 
+    // scan results
+    private static final int INVALID = 0;
+    private static final int RELATIVE = 1;
+    private static final int ABSOLUTE = 2;
+    private static final int UNKNOWN = 3;
+
+    // characters allowed in a path, query, fragment, or an opaque part, '%' is checked separately
+    private static final boolean[] URIC = chars(";/?:@&=+$,-_.!~*'()#");
+
+    // characters allowed in a registry based authority, '%' is checked separately
+    private static final boolean[] REG_NAME = chars("$,;:@&=+-_.!~*'()");
+
     private UriUtils() {
     }
 
     public static final boolean isURI(final String value) {
 
-        return value != null 
-                    && !value.isBlank() 
-                    && !Keywords.matchForm(value.strip())
+        if (value == null || value.isBlank()) {
+            return false;
+        }
+
+        // values needing no adjustment before parsing
+        if (!Character.isWhitespace(value.charAt(0)) 
+                && !Character.isWhitespace(value.charAt(value.length() - 1))
+                && !value.endsWith(":")
+                && !value.endsWith("[")
+                && !value.endsWith("]")
+                ) {
+
+            final int scan = scan(value);
+
+            if (scan == INVALID) {
+                return false;
+            }
+
+            if (scan != UNKNOWN) {
+                return !Keywords.matchForm(value);
+            }
+        }
+
+        return !Keywords.matchForm(value.strip())
                     && create(value.strip()) != null;
     }
 
@@ -61,20 +94,181 @@ public final class UriUtils {
     }
 
     public static final boolean isNotAbsoluteUri(final String uri) {
-        try {
-            return !URI.create(uri).isAbsolute();
-        } catch (IllegalArgumentException e) {
-            return true;
-        }
+        return !isAbsoluteUri(uri);
     }
 
     public static final boolean isAbsoluteUri(final String uri) {
+
+        final int scan = scan(uri);
+
+        if (scan != UNKNOWN) {
+            return scan == ABSOLUTE;
+        }
+
         try {
             return URI.create(uri).isAbsolute();
         } catch (IllegalArgumentException e) {
             return false;
         }
     }
+
+    /**
+     * Checks if the given value is an absolute URI that resolves to itself, i.e.
+     * has no dot segments, no escaped characters and no empty query or fragment.
+     * 
+     * @param value to check
+     * @return <code>true</code> if the value resolves to itself 
+     */
+    static final boolean isResolved(final String value) {
+        return value.indexOf('%') == -1
+                    && !value.contains("/.")
+                    && !value.contains("./")
+                    && !value.contains(":.")
+                    && !value.endsWith(":")
+                    && !value.contains("?#")
+                    && !value.endsWith("?")
+                    && !value.endsWith("#")
+                    && scan(value) == ABSOLUTE;
+    }
+
+    /**
+     * Classifies the given value the same way as {@link URI#create(String)} does, without 
+     * allocating any object. The result is {@link #UNKNOWN} if the value needs full parsing, 
+     * e.g. if it contains an IPv6 address or a non-ASCII character.
+     * 
+     * @param value to classify
+     * @return {@link #ABSOLUTE}, {@link #RELATIVE}, {@link #INVALID} or {@link #UNKNOWN}
+     */
+    private static final int scan(final String value) {
+
+        final int length = value.length();
+
+        int index = 0;
+
+        // find the end of a scheme, if any
+        while (index < length && "/?#:".indexOf(value.charAt(index)) == -1) {
+            index++;
+        }
+
+        // a relative reference
+        if (index == length || value.charAt(index) != ':') {
+
+            if (value.startsWith("//")) {
+                return UNKNOWN;
+            }
+
+            return scanUric(value, 0) ? RELATIVE : UNKNOWN;
+        }
+
+        // scheme = ALPHA *( ALPHA / DIGIT / "+" / "-" / "." )
+        if (index == 0 || !isAlpha(value.charAt(0))) {
+            return INVALID;
+        }
+
+        for (int i = 1; i < index; i++) {
+
+            final char ch = value.charAt(i);
+
+            if (!isAlpha(ch) && !isDigit(ch) && ch != '+' && ch != '-' && ch != '.') {
+                return INVALID;
+            }
+        }
+
+        index++;
+
+        // an empty scheme specific part
+        if (index == length || value.charAt(index) == '#') {
+            return INVALID;
+        }
+
+        // an authority
+        if (value.startsWith("//", index)) {
+
+            final int authority = index + 2;
+
+            index = authority;
+
+            while (index < length && "/?#".indexOf(value.charAt(index)) == -1) {
+
+                final char ch = value.charAt(index);
+
+                if (ch == '%') {
+
+                    if (!isEscaped(value, index)) {
+                        return UNKNOWN;
+                    }
+
+                } else if (ch >= 128 || (!isAlpha(ch) && !isDigit(ch) && !REG_NAME[ch])) {
+                    return UNKNOWN;
+                }
+
+                index++;
+            }
+
+            if (index == authority) {
+                return UNKNOWN;
+            }
+        }
+
+        return scanUric(value, index) ? ABSOLUTE : UNKNOWN;
+    }
+
+    private static final boolean scanUric(final String value, final int from) {
+
+        boolean fragment = false;
+
+        for (int index = from; index < value.length(); index++) {
+
+            final char ch = value.charAt(index);
+
+            if (ch == '%') {
+
+                if (!isEscaped(value, index)) {
+                    return false;
+                }
+
+            } else if (ch == '#') {
+
+                if (fragment) {
+                    return false;
+                }
+
+                fragment = true;
+
+            } else if (ch >= 128 || (!isAlpha(ch) && !isDigit(ch) && !URIC[ch])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static final boolean isEscaped(final String value, final int index) {
+        return index + 2 < value.length() && isHexDigit(value.charAt(index + 1)) && isHexDigit(value.charAt(index + 2));
+    }
+
+    private static final boolean isAlpha(final char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z');
+    }
+
+    private static final boolean isDigit(final char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static final boolean isHexDigit(final char ch) {
+        return isDigit(ch) || (ch >= 'a' && ch <= 'f') || (ch >= 'A' && ch <= 'F');
+    }
+
+    private static final boolean[] chars(final String chars) {
+
+        final boolean[] table = new boolean[128];
+
+        for (final char ch : chars.toCharArray()) {
+            table[ch] = true;
+        }
+
+        return table;
+    }
     
     protected static final String recompose(final String scheme, final String authority, final String path, final String query, final String fragment) {
 
@@ -10,6 +10,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import com.apicatalog.jsonld.JsonLd;
+import com.apicatalog.jsonld.context.PreparedContext;
 import com.apicatalog.jsonld.document.JsonDocument;
 import com.apicatalog.jsonld.http.media.MediaType;
 import com.apicatalog.jsonld.lang.Version;
@@ -55,4 +56,38 @@ public class CompactionApiTest {
         Assert.assertNotNull(compacted);
         Assert.assertEquals(Json.createObjectBuilder().build(), compacted);
     }
+
+    @Test    
+    public void test6() throws JsonLdError {
+
+        final PreparedContext context = PreparedContext.of(JsonDocument.of(CONTEXT), new JsonLdOptions());
+
+        final JsonObject document = Json.createObjectBuilder()
+                                        .add("http://schema.org/name", "Alice")
+                                        .add("http://schema.org/knows", Json.createObjectBuilder().add("@id", "https://example.com/bob"))
+                                        .build();
+
+        final JsonObject expected = JsonLd.compact(JsonDocument.of(document), JsonDocument.of(CONTEXT)).get();
+
+        for (int i = 0; i < 3; i++) {
+            JsonObject compacted = JsonLd.compact(JsonDocument.of(document), context).get();
+            Assert.assertNotNull(compacted);
+            Assert.assertEquals(expected, compacted);
+        }
+    }
+
+    @Test    
+    public void test7() throws JsonLdError {
+        JsonObject compacted = JsonLd.compact("https://example.com", PreparedContext.of(JsonDocument.of(CONTEXT), new JsonLdOptions())).loader(MOCK_LOADER).mode(Version.V1_0).get();
+        Assert.assertNotNull(compacted);
+        Assert.assertEquals(Json.createObjectBuilder().build(), compacted);
+    }
+
+    private static final JsonObject CONTEXT = Json.createObjectBuilder()
+                                                .add("@context", Json.createObjectBuilder()
+                                                        .add("name", "http://schema.org/name")
+                                                        .add("knows", Json.createObjectBuilder()
+                                                                            .add("@id", "http://schema.org/knows")
+                                                                            .add("@type", "@id")))
+                                                .build();
 }
@@ -11,6 +11,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import com.apicatalog.jsonld.JsonLd;
+import com.apicatalog.jsonld.context.PreparedContext;
 import com.apicatalog.jsonld.document.JsonDocument;
 import com.apicatalog.jsonld.http.media.MediaType;
 
@@ -77,4 +78,10 @@ public class FlatteningApiTest {
         Assert.assertEquals(Json.createObjectBuilder().build(), result);
     }    
 
+    @Test    
+    public void test9() throws JsonLdError {
+        JsonStructure result = JsonLd.flatten("https://example.com").context(PreparedContext.of(JsonDocument.of(Json.createObjectBuilder().build()), new JsonLdOptions())).loader(MOCK_LOADER).ordered().get();
+        Assert.assertNotNull(result);
+        Assert.assertEquals(Json.createObjectBuilder().build(), result);
+    }    
 }
@@ -0,0 +1,76 @@
+package com.apicatalog.jsonld.compaction;
+
+import java.util.concurrent.ForkJoinPool;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.processor.CompactionProcessor;
+
+public class ParallelCompactionTest {
+
+    private static final JsonObject CONTEXT = Json.createObjectBuilder()
+                                                .add("@vocab", "https://example.org/")
+                                                .add("knows", Json.createObjectBuilder().add("@id", "https://example.org/knows").add("@type", "@id"))
+                                                .add("Person", Json.createObjectBuilder()
+                                                                    .add("@id", "https://example.org/Person")
+                                                                    .add("@context", Json.createObjectBuilder().add("name", "https://example.org/fullName")))
+                                                .build();
+
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testParallelCompaction() throws JsonLdError {
+
+        final JsonArray document = newDocument(1000);
+
+        final JsonLdOptions options = new JsonLdOptions();
+        options.setParallelPool(pool);
+        options.setParallelThreshold(16);
+
+        final JsonObject expected = CompactionProcessor.compact(JsonDocument.of(document), JsonDocument.of(CONTEXT), new JsonLdOptions());
+
+        Assert.assertEquals(1000, expected.getJsonArray("@graph").size());
+        Assert.assertEquals(expected, CompactionProcessor.compact(JsonDocument.of(document), JsonDocument.of(CONTEXT), options));
+    }
+
+    private static final JsonArray newDocument(final int size) {
+
+        final JsonArrayBuilder graph = Json.createArrayBuilder();
+
+        for (int i = 0; i < size; i++) {
+
+            final boolean person = i % 2 == 0;
+
+            graph.add(Json.createObjectBuilder()
+                        .add("@id", "https://example.org/" + i)
+                        .add("@type", Json.createArrayBuilder().add(person ? "https://example.org/Person" : "https://example.org/Organization"))
+                        .add(person ? "https://example.org/fullName" : "https://example.org/name", Json.createArrayBuilder().add(Json.createObjectBuilder().add("@value", "Node " + i)))
+                        .add("https://example.org/knows", Json.createArrayBuilder()
+                                                            .add(Json.createObjectBuilder().add("@id", "https://example.org/" + (i + 1)))
+                                                            .add(Json.createObjectBuilder().add("@id", "https://example.org/" + (i + 2)))));
+        }
+
+        return graph.build();
+    }
+}
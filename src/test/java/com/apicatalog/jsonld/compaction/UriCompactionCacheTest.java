@@ -0,0 +1,74 @@
+package com.apicatalog.jsonld.compaction;
+
+import java.io.StringReader;
+import java.net.URI;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.context.ActiveContext;
+
+public class UriCompactionCacheTest {
+
+    @Test
+    public void testCachedCompaction() throws JsonLdError {
+
+        final ActiveContext context = newContext("{\"@vocab\": \"https://example.org/\", \"ex\": \"https://example.com/\", \"name\": \"https://example.com/name\"}");
+
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals("name", context.uriCompaction().vocab(true).compact("https://example.com/name"));
+            Assert.assertEquals("ex:label", context.uriCompaction().vocab(true).compact("https://example.com/label"));
+            Assert.assertEquals("label", context.uriCompaction().vocab(true).compact("https://example.org/label"));
+            Assert.assertEquals("label", context.uriCompaction().compact("https://example.org/base/label"));
+        }
+    }
+
+    @Test
+    public void testCachedTermSelection() throws JsonLdError {
+
+        final ActiveContext context = newContext("{\"date\": {\"@id\": \"https://example.org/date\", \"@type\": \"https://example.org/Date\"}, \"plain\": \"https://example.org/date\"}");
+
+        final JsonObject typed = parse("{\"@value\": \"2020-01-01\", \"@type\": \"https://example.org/Date\"}");
+        final JsonObject untyped = parse("{\"@value\": \"2020-01-01\"}");
+
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals("date", context.uriCompaction().vocab(true).value(typed).compact("https://example.org/date"));
+            Assert.assertEquals("plain", context.uriCompaction().vocab(true).value(untyped).compact("https://example.org/date"));
+        }
+    }
+
+    @Test
+    public void testChangedContext() throws JsonLdError {
+
+        final ActiveContext context = newContext("{\"ex\": \"https://example.com/\"}");
+
+        Assert.assertEquals("ex:label", context.uriCompaction().vocab(true).compact("https://example.com/label"));
+
+        final ActiveContext derived = context.newContext().create(parse("{\"title\": \"https://example.com/label\"}"), null);
+
+        Assert.assertEquals("title", derived.uriCompaction().vocab(true).compact("https://example.com/label"));
+        Assert.assertEquals("ex:label", context.uriCompaction().vocab(true).compact("https://example.com/label"));
+
+        Assert.assertEquals("https://example.net/label", derived.uriCompaction().compact("https://example.net/label"));
+
+        derived.setBaseUri(URI.create("https://example.net/"));
+
+        Assert.assertEquals("label", derived.uriCompaction().compact("https://example.net/label"));
+    }
+
+    private static final ActiveContext newContext(final String context) throws JsonLdError {
+
+        final URI base = URI.create("https://example.org/base/");
+
+        return new ActiveContext(base, base, new JsonLdOptions()).newContext().create(parse(context), base);
+    }
+
+    private static final JsonObject parse(final String json) {
+        return Json.createReader(new StringReader(json)).readObject();
+    }
+}
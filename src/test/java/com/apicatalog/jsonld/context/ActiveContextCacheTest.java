@@ -0,0 +1,172 @@
+package com.apicatalog.jsonld.context;
+
+import java.io.StringReader;
+import java.net.URI;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.cache.LruCache;
+import com.apicatalog.jsonld.context.ContextPrefetcherTest.RecordingLoader;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.processor.ExpansionProcessor;
+
+public class ActiveContextCacheTest {
+
+    private static final String INPUT = "{"
+            + "\"@context\": [\"https://example.org/a\", {\"knows\": {\"@id\": \"https://example.org/knows\", \"@context\": \"scoped\"}}],"
+            + "\"name\": \"Alice\","
+            + "\"knows\": {\"@type\": \"Person\", \"name\": \"Bob\"}"
+            + "}";
+
+    @Test
+    public void testExpansion() throws JsonLdError {
+
+        final JsonArray expected = ExpansionProcessor.expand(newDocument(), new JsonLdOptions(newLoader()), false);
+
+        final RecordingLoader loader = newLoader();
+
+        final JsonLdOptions options = new JsonLdOptions(loader);
+        options.setContextCache(new LruCache<>(100));
+
+        Assert.assertEquals(expected, ExpansionProcessor.expand(newDocument(), options, false));
+
+        final int requests = loader.requests.size();
+
+        Assert.assertTrue(requests > 0);
+        Assert.assertTrue(options.getContextCache().size() > 0);
+
+        Assert.assertEquals(expected, ExpansionProcessor.expand(newDocument(), options, false));
+        Assert.assertEquals(requests, loader.requests.size());
+    }
+
+    @Test
+    public void testCachedContextIsNotShared() throws JsonLdError {
+
+        final JsonLdOptions options = new JsonLdOptions(newLoader());
+        options.setContextCache(new LruCache<>(100));
+
+        final JsonObject context = parse("{\"@vocab\": \"https://example.org/\", \"name\": \"https://example.org/name\"}");
+
+        final ActiveContext context1 = new ActiveContext(null, null, options).newContext().create(context, null);
+        final ActiveContext context2 = new ActiveContext(null, null, options).newContext().create(context, null);
+
+        Assert.assertNotSame(context1, context2);
+        Assert.assertEquals(context1.getTerms(), context2.getTerms());
+        Assert.assertEquals(1, options.getContextCache().size());
+
+        context1.setBaseUri(URI.create("https://example.org/base"));
+
+        final ActiveContext context3 = new ActiveContext(null, null, options).newContext().create(context, null);
+
+        Assert.assertNull(context3.getBaseUri());
+    }
+
+    @Test
+    public void testInverseContextIsShared() throws JsonLdError {
+
+        final JsonLdOptions options = new JsonLdOptions(newLoader());
+        options.setContextCache(new LruCache<>(100));
+
+        final JsonObject context = parse("{\"@vocab\": \"https://example.org/\", \"name\": \"https://example.org/name\"}");
+
+        final ActiveContext context1 = new ActiveContext(null, null, options).newContext().create(context, null);
+        final ActiveContext context2 = new ActiveContext(null, null, options).newContext().create(context, null);
+
+        context1.createInverseContext();
+        context2.createInverseContext();
+
+        Assert.assertNotNull(context1.getInverseContext());
+        Assert.assertSame(context1.getInverseContext(), context2.getInverseContext());
+    }
+
+    @Test
+    public void testDerivedContextsAreReused() throws JsonLdError {
+
+        final RecordingLoader loader = newLoader();
+
+        final Document document = JsonDocument.of(parse("{"
+                + "\"@context\": \"https://example.org/a\","
+                + "\"@graph\": ["
+                + "{\"@type\": \"Person\", \"name\": \"Alice\"},"
+                + "{\"@type\": \"Person\", \"name\": \"Bob\"},"
+                + "{\"@type\": \"Person\", \"name\": \"Carol\"}"
+                + "]}"));
+
+        final JsonArray expanded = ExpansionProcessor.expand(document, new JsonLdOptions(loader), false);
+
+        Assert.assertEquals(3, expanded.size());
+        // once when Person is defined, once when the type-scoped context is applied
+        Assert.assertEquals(2, loader.requests.stream().filter(URI.create("https://example.org/person")::equals).count());
+    }
+
+    @Test
+    public void testBaseUriMemos() {
+
+        final ActiveContext context = new ActiveContext(URI.create("https://example.org/a/"), URI.create("https://example.org/a/"), new JsonLdOptions());
+
+        context.setExpandedUri("name", true, false, "https://example.org/name");
+        context.setExpandedUri("b", false, true, "https://example.org/a/b");
+        context.setCompactedUri("https://example.org/name", true, false, "name");
+        context.setCompactedUri("https://example.org/a/b", false, false, "b");
+
+        context.setBaseUri(URI.create("https://example.org/a/"));
+
+        Assert.assertEquals("https://example.org/a/b", context.getExpandedUri("b", false, true));
+        Assert.assertEquals("b", context.getCompactedUri("https://example.org/a/b", false, false));
+
+        context.setBaseUri(URI.create("https://example.org/c/"));
+
+        // vocabulary relative results do not depend on the base IRI
+        Assert.assertEquals("https://example.org/name", context.getExpandedUri("name", true, false));
+        Assert.assertEquals("name", context.getCompactedUri("https://example.org/name", true, false));
+
+        Assert.assertNull(context.getExpandedUri("b", false, true));
+        Assert.assertNull(context.getCompactedUri("https://example.org/a/b", false, false));
+    }
+
+    @Test
+    public void testCacheDisabled() throws JsonLdError {
+
+        final RecordingLoader loader = newLoader();
+
+        final JsonLdOptions options = new JsonLdOptions(loader);
+
+        ExpansionProcessor.expand(newDocument(), options, false);
+
+        final int requests = loader.requests.size();
+
+        ExpansionProcessor.expand(newDocument(), options, false);
+
+        Assert.assertEquals(2 * requests, loader.requests.size());
+    }
+
+    private static final Document newDocument() {
+        final Document document = JsonDocument.of(parse(INPUT));
+        document.setDocumentUrl(URI.create("https://example.org/document"));
+        return document;
+    }
+
+    private static final RecordingLoader newLoader() {
+
+        final RecordingLoader loader = new RecordingLoader();
+
+        loader.contexts.put(URI.create("https://example.org/a"), "{\"@context\": {\"@import\": \"imported\", \"name\": \"https://example.org/name\"}}");
+        loader.contexts.put(URI.create("https://example.org/imported"), "{\"@context\": {\"Person\": {\"@id\": \"https://example.org/Person\", \"@context\": \"person\"}}}");
+        loader.contexts.put(URI.create("https://example.org/person"), "{\"@context\": {\"name\": \"https://example.org/fullName\"}}");
+        loader.contexts.put(URI.create("https://example.org/scoped"), "{\"@context\": {\"@vocab\": \"https://example.org/scoped#\"}}");
+
+        return loader;
+    }
+
+    private static final JsonObject parse(final String json) {
+        return Json.createReader(new StringReader(json)).readObject();
+    }
+}
@@ -0,0 +1,129 @@
+package com.apicatalog.jsonld.context;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.cache.LruCache;
+import com.apicatalog.jsonld.context.ContextPrefetcherTest.RecordingLoader;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.processor.ExpansionProcessor;
+
+public class ActiveContextWriterTest {
+
+    private static final String CONTEXT = "{\"@context\": {"
+            + "\"@vocab\": \"https://example.org/vocab#\","
+            + "\"@language\": \"en\","
+            + "\"name\": {\"@id\": \"https://example.org/name\", \"@container\": [\"@language\", \"@set\"]},"
+            + "\"knows\": {\"@id\": \"https://example.org/knows\", \"@type\": \"@id\", \"@context\": {\"name\": \"https://example.org/fullName\"}},"
+            + "\"label\": {\"@id\": \"https://example.org/label\", \"@language\": null}"
+            + "}}";
+
+    private static final String INPUT = "{"
+            + "\"@context\": \"https://example.org/context\","
+            + "\"name\": \"Alice\","
+            + "\"label\": \"Person\","
+            + "\"knows\": \"https://example.org/bob\""
+            + "}";
+
+    @Test
+    public void testRoundTrip() throws JsonLdError, IOException {
+
+        final JsonLdOptions options = new JsonLdOptions(newLoader());
+        options.setContextCache(new LruCache<>(10));
+
+        final ActiveContext context = newContext(options);
+
+        final ActiveContext read = new ActiveContextReader(new ByteArrayInputStream(write(context))).read(new JsonLdOptions());
+
+        Assert.assertEquals(context.getTerms(), read.getTerms());
+        Assert.assertEquals(context.getVocabularyMapping(), read.getVocabularyMapping());
+        Assert.assertEquals(context.getDefaultLanguage(), read.getDefaultLanguage());
+        Assert.assertNotNull(read.getInverseContext());
+
+        for (final String term : context.getTerms()) {
+
+            final TermDefinition expected = context.getTerm(term).get();
+            final TermDefinition actual = read.getTerm(term).get();
+
+            Assert.assertEquals(expected.getUriMapping(), actual.getUriMapping());
+            Assert.assertEquals(expected.getContainerMapping(), actual.getContainerMapping());
+            Assert.assertEquals(expected.getTypeMapping(), actual.getTypeMapping());
+            Assert.assertEquals(expected.getLanguageMapping(), actual.getLanguageMapping());
+            Assert.assertEquals(expected.getLocalContext(), actual.getLocalContext());
+            Assert.assertFalse(expected.isNotSameExcept(actual));
+        }
+    }
+
+    @Test
+    public void testWarmStart() throws JsonLdError, IOException {
+
+        final JsonArray expected = ExpansionProcessor.expand(JsonDocument.of(parse(INPUT)), new JsonLdOptions(newLoader()), false);
+
+        final JsonLdOptions writeOptions = new JsonLdOptions(newLoader());
+        writeOptions.setContextCache(new LruCache<>(10));
+
+        final byte[] bytes = write(newContext(writeOptions));
+
+        final RecordingLoader loader = new RecordingLoader();
+
+        final JsonLdOptions options = new JsonLdOptions(loader);
+        options.setContextCache(new LruCache<>(10));
+
+        new ActiveContextReader(new ByteArrayInputStream(bytes)).read(options);
+
+        Assert.assertEquals(expected, ExpansionProcessor.expand(JsonDocument.of(parse(INPUT)), options, false));
+        Assert.assertTrue(loader.requests.isEmpty());
+    }
+
+    @Test
+    public void testUnsupportedVersion() throws JsonLdError, IOException {
+
+        final JsonLdOptions options = new JsonLdOptions(newLoader());
+
+        final byte[] bytes = write(newContext(options));
+
+        bytes[5]++;
+
+        Assert.assertThrows(IOException.class, () -> new ActiveContextReader(new ByteArrayInputStream(bytes)).read(options));
+    }
+
+    private static final ActiveContext newContext(final JsonLdOptions options) throws JsonLdError {
+        return new ActiveContext(null, null, options)
+                        .newContext()
+                        .create(Json.createValue("https://example.org/context"), null);
+    }
+
+    private static final byte[] write(final ActiveContext context) throws IOException {
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        new ActiveContextWriter(output).write(context);
+
+        return output.toByteArray();
+    }
+
+    private static final RecordingLoader newLoader() {
+
+        final RecordingLoader loader = new RecordingLoader();
+
+        loader.contexts.put(URI.create("https://example.org/context"), CONTEXT);
+
+        return loader;
+    }
+
+    private static final JsonObject parse(final String json) {
+        return Json.createReader(new StringReader(json)).readObject();
+    }
+}
@@ -0,0 +1,59 @@
+package com.apicatalog.jsonld.context;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoundedMemoTest {
+
+    @Test
+    public void testCapacity() {
+
+        final BoundedMemo<String, String> memo = new BoundedMemo<>(2);
+
+        memo.put("a", "A");
+        memo.put("b", "B");
+
+        Assert.assertEquals("A", memo.get("a"));
+
+        // the least recently used entry is evicted
+        memo.put("c", "C");
+
+        Assert.assertEquals("A", memo.get("a"));
+        Assert.assertNull(memo.get("b"));
+        Assert.assertEquals("C", memo.get("c"));
+
+        memo.clear();
+
+        Assert.assertNull(memo.get("a"));
+
+        memo.put("c", "C");
+        Assert.assertEquals("C", memo.get("c"));
+    }
+
+    @Test
+    public void testSegments() {
+
+        final BoundedMemo<String, String> memo = new BoundedMemo<>(4096);
+
+        for (int i = 0; i < 10000; i++) {
+            memo.put("key" + i, "value" + i);
+        }
+
+        // recently memoized results are kept
+        Assert.assertEquals("value9999", memo.get("key9999"));
+        Assert.assertNull(memo.get("key0"));
+    }
+
+    @Test
+    public void testArray() {
+
+        final BoundedMemo<String, String>[] memos = BoundedMemo.array(4, 8);
+
+        Assert.assertEquals(4, memos.length);
+
+        memos[0].put("a", "A");
+
+        Assert.assertEquals("A", memos[0].get("a"));
+        Assert.assertNull(memos[1].get("a"));
+    }
+}
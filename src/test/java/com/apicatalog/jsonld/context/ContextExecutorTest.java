@@ -0,0 +1,134 @@
+package com.apicatalog.jsonld.context;
+
+import java.io.StringReader;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdErrorCode;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.loader.DocumentLoader;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+
+public class ContextExecutorTest {
+
+    private static final JsonArray CONTEXT = Json.createArrayBuilder()
+                                                .add("https://example.org/a")
+                                                .add("https://example.org/b")
+                                                .add(Json.createObjectBuilder().add("@import", "https://example.org/c"))
+                                                .build();
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentLoading() throws JsonLdError {
+
+        final SlowLoader loader = new SlowLoader();
+
+        final JsonLdOptions options = new JsonLdOptions(loader);
+        options.setContextExecutor(executor);
+
+        final ActiveContext context = new ActiveContext(null, null, options).newContext().create(CONTEXT, null);
+
+        Assert.assertTrue(loader.concurrent);
+        Assert.assertEquals("https://example.org/b#name", context.getTerm("name").get().getUriMapping());
+        Assert.assertEquals("https://example.org/c#label", context.getTerm("label").get().getUriMapping());
+    }
+
+    @Test
+    public void testSequentialLoading() throws JsonLdError {
+
+        final SlowLoader loader = new SlowLoader();
+
+        final ActiveContext context = new ActiveContext(null, null, new JsonLdOptions(loader)).newContext().create(CONTEXT, null);
+
+        Assert.assertFalse(loader.concurrent);
+        Assert.assertEquals("https://example.org/b#name", context.getTerm("name").get().getUriMapping());
+    }
+
+    @Test
+    public void testLoadingFailure() {
+
+        final SlowLoader loader = new SlowLoader();
+        loader.contexts.remove(URI.create("https://example.org/b"));
+
+        final JsonLdOptions options = new JsonLdOptions(loader);
+        options.setContextExecutor(executor);
+
+        final JsonLdError error = Assert.assertThrows(JsonLdError.class, () -> new ActiveContext(null, null, options).newContext().create(CONTEXT, null));
+
+        Assert.assertEquals(JsonLdErrorCode.LOADING_REMOTE_CONTEXT_FAILED, error.getCode());
+    }
+
+    static class SlowLoader implements DocumentLoader {
+
+        final Map<URI, String> contexts = new ConcurrentHashMap<>();
+
+        final AtomicInteger active = new AtomicInteger();
+
+        volatile boolean concurrent;
+
+        SlowLoader() {
+            this.concurrent = false;
+
+            contexts.put(URI.create("https://example.org/a"), "{\"@context\": {\"name\": \"https://example.org/a#name\"}}");
+            contexts.put(URI.create("https://example.org/b"), "{\"@context\": {\"name\": \"https://example.org/b#name\"}}");
+            contexts.put(URI.create("https://example.org/c"), "{\"@context\": {\"label\": \"https://example.org/c#label\"}}");
+        }
+
+        @Override
+        public Document loadDocument(URI url, DocumentLoaderOptions options) throws JsonLdError {
+
+            if (active.incrementAndGet() > 1) {
+                concurrent = true;
+            }
+
+            try {
+                Thread.sleep(100);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+            } finally {
+                active.decrementAndGet();
+            }
+
+            if (!contexts.containsKey(url)) {
+                throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED);
+            }
+
+            final Document document = JsonDocument.of(parse(contexts.get(url)));
+            document.setDocumentUrl(url);
+            return document;
+        }
+    }
+
+    private static final JsonObject parse(final String json) {
+        return Json.createReader(new StringReader(json)).readObject();
+    }
+}
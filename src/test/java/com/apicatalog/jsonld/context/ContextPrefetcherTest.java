@@ -0,0 +1,169 @@
+package com.apicatalog.jsonld.context;
+
+import java.io.StringReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdErrorCode;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.loader.DocumentLoader;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+import com.apicatalog.jsonld.processor.ExpansionProcessor;
+
+public class ContextPrefetcherTest {
+
+    private static final String INPUT = "{"
+            + "\"@context\": [\"https://example.org/a\", {\"knows\": {\"@id\": \"https://example.org/knows\", \"@context\": \"scoped\"}}],"
+            + "\"name\": \"Alice\","
+            + "\"knows\": {\"@type\": \"Person\", \"name\": \"Bob\"}"
+            + "}";
+    
+    @Test
+    public void testPrefetch() throws JsonLdError {
+        
+        final RecordingLoader loader = newLoader();
+        
+        final DocumentLoader prefetched = ContextPrefetcher
+                                            .with(loader)
+                                            .document(parse(INPUT), URI.create("https://example.org/document"))
+                                            .prefetch();
+        
+        Assert.assertEquals(4, loader.requests.size());
+        Assert.assertTrue(loader.requests.contains(URI.create("https://example.org/a")));
+        Assert.assertTrue(loader.requests.contains(URI.create("https://example.org/scoped")));
+        Assert.assertTrue(loader.requests.contains(URI.create("https://example.org/imported")));
+        Assert.assertTrue(loader.requests.contains(URI.create("https://example.org/person")));
+        
+        prefetched.loadDocument(URI.create("https://example.org/a"), ContextPrefetcher.contextLoaderOptions());
+        prefetched.loadDocument(URI.create("https://example.org/person"), ContextPrefetcher.contextLoaderOptions());
+        
+        Assert.assertEquals(4, loader.requests.size());
+    }
+
+    @Test
+    public void testJsonLiterals() throws JsonLdError {
+        
+        final RecordingLoader loader = newLoader();
+        
+        loader.contexts.put(URI.create("https://example.org/json"), "{\"@context\": {\"payload\": {\"@id\": \"https://example.org/payload\", \"@type\": \"@json\"}}}");
+        
+        final String input = "{"
+                + "\"@context\": [\"https://example.org/json\", {\"data\": {\"@id\": \"https://example.org/data\", \"@type\": \"@json\"}}],"
+                + "\"data\": {\"@context\": \"https://example.org/data-literal\"},"
+                + "\"payload\": [{\"@context\": \"https://example.org/payload-literal\"}],"
+                + "\"https://example.org/note\": {\"@value\": {\"@context\": \"https://example.org/value-literal\"}, \"@type\": \"@json\"},"
+                + "\"https://example.org/knows\": {\"@context\": \"https://example.org/a\"}"
+                + "}";
+        
+        ContextPrefetcher
+                .with(loader)
+                .document(parse(input), URI.create("https://example.org/document"))
+                .prefetch();
+        
+        Assert.assertTrue(loader.requests.contains(URI.create("https://example.org/json")));
+        Assert.assertTrue(loader.requests.contains(URI.create("https://example.org/a")));
+        
+        Assert.assertFalse(loader.requests.contains(URI.create("https://example.org/data-literal")));
+        Assert.assertFalse(loader.requests.contains(URI.create("https://example.org/payload-literal")));
+        Assert.assertFalse(loader.requests.contains(URI.create("https://example.org/value-literal")));
+    }
+
+    @Test
+    public void testExpansion() throws JsonLdError {
+
+        final JsonLdOptions options = new JsonLdOptions(newLoader());
+        
+        final JsonArray expected = ExpansionProcessor.expand(newDocument(), options, false);
+        
+        final RecordingLoader loader = newLoader();
+        
+        options.setDocumentLoader(loader);
+        options.setPrefetchContexts(true);
+
+        final JsonArray expanded = ExpansionProcessor.expand(newDocument(), options, false);
+        
+        Assert.assertEquals(expected, expanded);
+        Assert.assertEquals(4, loader.requests.size());
+    }
+    
+    @Test
+    public void testExpandContext() throws JsonLdError {
+
+        final JsonLdOptions options = new JsonLdOptions(newLoader());
+        options.setExpandContext(parse("{\"@context\": \"https://example.org/a\"}"));
+        
+        final Document input = JsonDocument.of(parse("{\"name\": \"Alice\"}"));
+        input.setDocumentUrl(URI.create("https://example.org/document"));
+        
+        final JsonArray expected = ExpansionProcessor.expand(input, options, false);
+        
+        final RecordingLoader loader = newLoader();
+        
+        options.setDocumentLoader(loader);
+        options.setPrefetchContexts(true);
+
+        final JsonArray expanded = ExpansionProcessor.expand(input, options, false);
+        
+        Assert.assertEquals(expected, expanded);
+        Assert.assertEquals(3, loader.requests.size());
+        Assert.assertTrue(loader.requests.contains(URI.create("https://example.org/a")));
+        Assert.assertTrue(loader.requests.contains(URI.create("https://example.org/imported")));
+        Assert.assertTrue(loader.requests.contains(URI.create("https://example.org/person")));
+    }
+    
+    private static final Document newDocument() {
+        final Document document = JsonDocument.of(parse(INPUT));
+        document.setDocumentUrl(URI.create("https://example.org/document"));
+        return document;
+    }
+    
+    private static final RecordingLoader newLoader() {
+        
+        final RecordingLoader loader = new RecordingLoader();
+        
+        loader.contexts.put(URI.create("https://example.org/a"), "{\"@context\": {\"@import\": \"imported\", \"name\": \"https://example.org/name\"}}");
+        loader.contexts.put(URI.create("https://example.org/imported"), "{\"@context\": {\"Person\": {\"@id\": \"https://example.org/Person\", \"@context\": \"person\"}}}");
+        loader.contexts.put(URI.create("https://example.org/person"), "{\"@context\": {\"name\": \"https://example.org/fullName\"}}");
+        loader.contexts.put(URI.create("https://example.org/scoped"), "{\"@context\": {\"@vocab\": \"https://example.org/scoped#\"}}");
+        
+        return loader;
+    }
+    
+    private static final JsonObject parse(final String json) {
+        return Json.createReader(new StringReader(json)).readObject();
+    }
+    
+    static class RecordingLoader implements DocumentLoader {
+
+        final Map<URI, String> contexts = new HashMap<>();
+        
+        final List<URI> requests = new ArrayList<>();
+        
+        @Override
+        public synchronized Document loadDocument(URI url, DocumentLoaderOptions options) throws JsonLdError {
+            
+            requests.add(url);
+            
+            if (!contexts.containsKey(url)) {
+                throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED);
+            }
+            
+            final Document document = JsonDocument.of(parse(contexts.get(url)));
+            document.setDocumentUrl(url);
+            return document;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.apicatalog.jsonld.context;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrefixIndexTest {
+
+    @Test
+    public void testFind() {
+
+        final Map<String, TermDefinition> definitions = new LinkedHashMap<>();
+        definitions.put("schema", newDefinition("https://schema.org/", true));
+        definitions.put("ex", newDefinition("https://example.org/", true));
+        definitions.put("exv", newDefinition("https://example.org/vocab#", true));
+        definitions.put("e", newDefinition("https://example.", true));
+        definitions.put("name", newDefinition("https://example.org/name", false));
+        definitions.put("ex2", newDefinition("https://example.org/", true));
+
+        final PrefixIndex index = PrefixIndex.create(definitions);
+
+        Assert.assertEquals(Arrays.asList("ex", "exv", "e", "ex2"), terms(index.find("https://example.org/vocab#name")));
+        Assert.assertEquals(Arrays.asList("ex", "e", "ex2"), terms(index.find("https://example.org/name")));
+        Assert.assertEquals(Arrays.asList("e"), terms(index.find("https://example.com/")));
+        Assert.assertEquals(Arrays.asList("schema"), terms(index.find("https://schema.org/Person")));
+    }
+
+    @Test
+    public void testEqualMappingIsNotFound() {
+
+        final Map<String, TermDefinition> definitions = new LinkedHashMap<>();
+        definitions.put("ex", newDefinition("https://example.org/", true));
+        definitions.put("exv", newDefinition("https://example.org/vocab#", true));
+
+        final PrefixIndex index = PrefixIndex.create(definitions);
+
+        Assert.assertEquals(Arrays.asList("ex"), terms(index.find("https://example.org/vocab#")));
+        Assert.assertEquals(Collections.emptyList(), terms(index.find("https://example.org/")));
+        Assert.assertEquals(Collections.emptyList(), terms(index.find("https://example.net/")));
+        Assert.assertEquals(Collections.emptyList(), terms(index.find("")));
+    }
+
+    private static final List<String> terms(final List<Map.Entry<String, TermDefinition>> entries) {
+        return entries.stream().map(Map.Entry::getKey).collect(Collectors.toList());
+    }
+
+    private static final TermDefinition newDefinition(final String uri, final boolean prefix) {
+        final TermDefinition definition = new TermDefinition(prefix, false, false);
+        definition.setUriMapping(uri);
+        return definition;
+    }
+}
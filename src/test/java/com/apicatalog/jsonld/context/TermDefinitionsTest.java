@@ -0,0 +1,70 @@
+package com.apicatalog.jsonld.context;
+
+import java.util.Arrays;
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TermDefinitionsTest {
+
+    @Test
+    public void testDerive() {
+
+        final TermDefinitions origin = new TermDefinitions();
+        origin.put("a", newDefinition("https://example.org/a"));
+        origin.put("b", newDefinition("https://example.org/b"));
+
+        final TermDefinitions derived = origin.derive();
+        derived.put("c", newDefinition("https://example.org/c"));
+        derived.remove("a");
+
+        origin.put("d", newDefinition("https://example.org/d"));
+
+        Assert.assertEquals(Arrays.asList("a", "b", "d"), new ArrayList<>(origin.asMap().keySet()));
+        Assert.assertEquals(Arrays.asList("b", "c"), new ArrayList<>(derived.asMap().keySet()));
+
+        Assert.assertTrue(origin.contains("a"));
+        Assert.assertFalse(derived.contains("a"));
+        Assert.assertFalse(derived.contains("d"));
+    }
+
+    @Test
+    public void testRedefinitionIsAppended() {
+
+        final TermDefinitions origin = new TermDefinitions();
+        origin.put("a", newDefinition("https://example.org/a"));
+        origin.put("b", newDefinition("https://example.org/b"));
+
+        final TermDefinitions derived = origin.derive();
+        derived.remove("a");
+        derived.put("a", newDefinition("https://example.org/a2"));
+
+        Assert.assertEquals(Arrays.asList("b", "a"), new ArrayList<>(derived.asMap().keySet()));
+        Assert.assertEquals("https://example.org/a2", derived.get("a").getUriMapping());
+        Assert.assertEquals("https://example.org/a", origin.get("a").getUriMapping());
+    }
+
+    @Test
+    public void testDeepDerivation() {
+
+        TermDefinitions definitions = new TermDefinitions();
+
+        for (int i = 0; i < 100; i++) {
+            definitions = definitions.derive();
+            definitions.put("t" + i, newDefinition("https://example.org/" + i));
+        }
+
+        Assert.assertEquals(100, definitions.asMap().size());
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals("https://example.org/" + i, definitions.get("t" + i).getUriMapping());
+        }
+    }
+
+    private static final TermDefinition newDefinition(final String uri) {
+        final TermDefinition definition = new TermDefinition(false, false, false);
+        definition.setUriMapping(uri);
+        return definition;
+    }
+}
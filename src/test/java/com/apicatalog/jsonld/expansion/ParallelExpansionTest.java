@@ -0,0 +1,90 @@
+package com.apicatalog.jsonld.expansion;
+
+import java.util.concurrent.ForkJoinPool;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdErrorCode;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.processor.ExpansionProcessor;
+
+public class ParallelExpansionTest {
+
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testParallelExpansion() throws JsonLdError {
+
+        final JsonObject document = newDocument(1000);
+
+        final JsonLdOptions options = new JsonLdOptions();
+        options.setParallelPool(pool);
+        options.setParallelThreshold(16);
+
+        Assert.assertEquals(
+                ExpansionProcessor.expand(JsonDocument.of(document), new JsonLdOptions(), false),
+                ExpansionProcessor.expand(JsonDocument.of(document), options, false)
+                );
+    }
+
+    @Test
+    public void testParallelExpansionError() {
+
+        // an invalid @id value in one of the nodes
+        final JsonObject document = newDocument(500);
+
+        final JsonObject invalid = Json.createObjectBuilder(document)
+                                        .add("@graph", Json.createArrayBuilder(document.getJsonArray("@graph"))
+                                                            .add(Json.createObjectBuilder().add("@id", 1)))
+                                        .build();
+
+        final JsonLdOptions options = new JsonLdOptions();
+        options.setParallelPool(pool);
+
+        final JsonLdError error = Assert.assertThrows(JsonLdError.class, () -> ExpansionProcessor.expand(JsonDocument.of(invalid), options, false));
+
+        Assert.assertEquals(JsonLdErrorCode.INVALID_KEYWORD_ID_VALUE, error.getCode());
+    }
+
+    private static final JsonObject newDocument(final int size) {
+
+        final JsonArrayBuilder graph = Json.createArrayBuilder();
+
+        for (int i = 0; i < size; i++) {
+            graph.add(Json.createObjectBuilder()
+                        .add("@id", "https://example.org/" + i)
+                        .add("@type", i % 2 == 0 ? "Person" : "Organization")
+                        .add("name", "Node " + i)
+                        .add("knows", Json.createArrayBuilder().add("https://example.org/" + (i + 1)).add("https://example.org/" + (i + 2))));
+        }
+
+        return Json.createObjectBuilder()
+                    .add("@context", Json.createObjectBuilder()
+                                        .add("@vocab", "https://example.org/")
+                                        .add("knows", Json.createObjectBuilder().add("@id", "https://example.org/knows").add("@type", "@id"))
+                                        .add("Person", Json.createObjectBuilder()
+                                                            .add("@id", "https://example.org/Person")
+                                                            .add("@context", Json.createObjectBuilder().add("name", "https://example.org/fullName"))))
+                    .add("@graph", graph)
+                    .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.apicatalog.jsonld.expansion;
+
+import java.io.StringReader;
+import java.net.URI;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.context.ActiveContext;
+
+public class UriExpansionCacheTest {
+
+    @Test
+    public void testCachedExpansion() throws JsonLdError {
+
+        final ActiveContext context = newContext("{\"@vocab\": \"https://example.org/\", \"ex\": \"https://example.com/\", \"name\": \"ex:name\"}");
+
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals("https://example.com/name", context.uriExpansion().vocab(true).expand("name"));
+            Assert.assertEquals("https://example.com/label", context.uriExpansion().vocab(true).expand("ex:label"));
+            Assert.assertEquals("https://example.org/label", context.uriExpansion().vocab(true).expand("label"));
+            Assert.assertEquals("https://example.org/base/label", context.uriExpansion().documentRelative(true).expand("label"));
+            Assert.assertEquals("label", context.uriExpansion().expand("label"));
+        }
+    }
+
+    @Test
+    public void testChangedContext() throws JsonLdError {
+
+        final ActiveContext context = newContext("{\"@vocab\": \"https://example.org/\"}");
+
+        Assert.assertEquals("https://example.org/name", context.uriExpansion().vocab(true).expand("name"));
+
+        final ActiveContext derived = context.newContext().create(parse("{\"name\": \"https://example.com/fullName\"}"), null);
+
+        Assert.assertEquals("https://example.com/fullName", derived.uriExpansion().vocab(true).expand("name"));
+        Assert.assertEquals("https://example.org/name", context.uriExpansion().vocab(true).expand("name"));
+
+        derived.setBaseUri(URI.create("https://example.net/"));
+
+        Assert.assertEquals("https://example.net/label", derived.uriExpansion().documentRelative(true).expand("label"));
+    }
+
+    private static final ActiveContext newContext(final String context) throws JsonLdError {
+
+        final URI base = URI.create("https://example.org/base/");
+
+        return new ActiveContext(base, base, new JsonLdOptions()).newContext().create(parse(context), base);
+    }
+
+    private static final JsonObject parse(final String json) {
+        return Json.createReader(new StringReader(json)).readObject();
+    }
+}
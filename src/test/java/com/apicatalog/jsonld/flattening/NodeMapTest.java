@@ -0,0 +1,90 @@
+package com.apicatalog.jsonld.flattening;
+
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.lang.Keywords;
+
+public class NodeMapTest {
+
+    @Test
+    public void testSetAndGet() {
+
+        final NodeMap nodeMap = new NodeMap();
+
+        nodeMap.set(Keywords.DEFAULT, "https://example.org/b", Keywords.ID, Json.createValue("https://example.org/b"));
+        nodeMap.set(Keywords.DEFAULT, "https://example.org/a", Keywords.ID, Json.createValue("https://example.org/a"));
+        nodeMap.set(Keywords.DEFAULT, "https://example.org/a", "https://example.org/name", Json.createValue("A"));
+        nodeMap.set("https://example.org/g", "https://example.org/a", Keywords.ID, Json.createValue("https://example.org/a"));
+        nodeMap.set(Keywords.DEFAULT, "https://example.org/a", Keywords.ID, Json.createValue("https://example.org/a"));
+
+        Assert.assertEquals(Json.createValue("A"), nodeMap.get(Keywords.DEFAULT, "https://example.org/a", "https://example.org/name"));
+        Assert.assertNull(nodeMap.get("https://example.org/g", "https://example.org/a", "https://example.org/name"));
+        Assert.assertNull(nodeMap.get(Keywords.DEFAULT, "https://example.org/c", Keywords.ID));
+
+        Assert.assertTrue(nodeMap.doesNotContain("https://example.org/g", "https://example.org/b"));
+        Assert.assertTrue(nodeMap.contains("https://example.org/g"));
+        Assert.assertFalse(nodeMap.contains("https://example.org/a"));
+
+        Assert.assertEquals(Arrays.asList(Keywords.DEFAULT, "https://example.org/g"), new ArrayList<>(nodeMap.graphs(false)));
+        Assert.assertEquals(Arrays.asList("https://example.org/b", "https://example.org/a"), new ArrayList<>(nodeMap.subjects(Keywords.DEFAULT)));
+        Assert.assertEquals(Arrays.asList("https://example.org/a", "https://example.org/b"), new ArrayList<>(nodeMap.subjects(Keywords.DEFAULT, true)));
+
+        // a replaced value keeps the property position
+        Assert.assertEquals(Arrays.asList(Keywords.ID, "https://example.org/name"), new ArrayList<>(nodeMap.properties(Keywords.DEFAULT, "https://example.org/a", false)));
+
+        final Map<String, JsonValue> node = nodeMap.get(Keywords.DEFAULT, "https://example.org/a");
+
+        Assert.assertEquals(2, node.size());
+        Assert.assertEquals(Json.createValue("A"), node.get("https://example.org/name"));
+
+        final Map<String, JsonObject> graph = nodeMap.get(Keywords.DEFAULT);
+
+        Assert.assertEquals(Arrays.asList("https://example.org/b", "https://example.org/a"), new ArrayList<>(graph.keySet()));
+        Assert.assertEquals(Json.createObjectBuilder().add(Keywords.ID, "https://example.org/a").add("https://example.org/name", "A").build(), graph.get("https://example.org/a"));
+    }
+
+    @Test
+    public void testMerge() {
+
+        final NodeMap nodeMap = new NodeMap();
+
+        nodeMap.set(Keywords.DEFAULT, "https://example.org/a", Keywords.ID, Json.createValue("https://example.org/a"));
+        nodeMap.set(Keywords.DEFAULT, "https://example.org/a", Keywords.TYPE, Json.createArrayBuilder().add("https://example.org/A").build());
+        nodeMap.set("https://example.org/g", "https://example.org/a", Keywords.ID, Json.createValue("https://example.org/a"));
+        nodeMap.set("https://example.org/g", "https://example.org/a", Keywords.TYPE, Json.createArrayBuilder().add("https://example.org/B").build());
+
+        nodeMap.merge();
+
+        Assert.assertEquals(
+                Json.createArrayBuilder().add("https://example.org/A").add("https://example.org/B").build(),
+                nodeMap.get(Keywords.MERGED, "https://example.org/a", Keywords.TYPE)
+                );
+        Assert.assertEquals(Json.createValue("https://example.org/a"), nodeMap.get(Keywords.MERGED, "https://example.org/a", Keywords.ID));
+    }
+
+    @Test
+    public void testManyNodes() {
+
+        final NodeMap nodeMap = new NodeMap();
+
+        for (int i = 0; i < 10000; i++) {
+            nodeMap.set(Keywords.DEFAULT, "_:b" + i, Keywords.ID, Json.createValue("_:b" + i));
+            nodeMap.set(Keywords.DEFAULT, "_:b" + i, "https://example.org/p" + (i % 10), Json.createValue(i));
+        }
+
+        Assert.assertEquals(10000, nodeMap.subjects(Keywords.DEFAULT).size());
+
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(Json.createValue(i), nodeMap.get(Keywords.DEFAULT, "_:b" + i, "https://example.org/p" + (i % 10)));
+        }
+    }
+}
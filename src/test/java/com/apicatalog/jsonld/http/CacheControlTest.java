@@ -0,0 +1,60 @@
+package com.apicatalog.jsonld.http;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.OptionalLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CacheControlTest {
+
+    @Test
+    public void testEmpty() {
+        CacheControl result = CacheControl.of(Collections.emptyList());
+        Assert.assertNotNull(result);
+        Assert.assertFalse(result.isNoStore());
+        Assert.assertFalse(result.isNoCache());
+        Assert.assertEquals(OptionalLong.empty(), result.maxAge());
+    }
+
+    @Test
+    public void testMaxAge() {
+        CacheControl result = CacheControl.of(Arrays.asList("public, max-age=3600"));
+        Assert.assertFalse(result.isNoStore());
+        Assert.assertFalse(result.isNoCache());
+        Assert.assertEquals(OptionalLong.of(3600), result.maxAge());
+    }
+
+    @Test
+    public void testQuotedMaxAge() {
+        CacheControl result = CacheControl.of(Arrays.asList("max-age=\"60\""));
+        Assert.assertEquals(OptionalLong.of(60), result.maxAge());
+    }
+
+    @Test
+    public void testInvalidMaxAge() {
+        CacheControl result = CacheControl.of(Arrays.asList("max-age=-1, max-age=abc"));
+        Assert.assertEquals(OptionalLong.empty(), result.maxAge());
+    }
+
+    @Test
+    public void testOversizedMaxAge() {
+        Assert.assertEquals(OptionalLong.of(CacheControl.MAX_DELTA_SECONDS), CacheControl.of(Arrays.asList("max-age=99999999999")).maxAge());
+        Assert.assertEquals(OptionalLong.of(CacheControl.MAX_DELTA_SECONDS), CacheControl.of(Arrays.asList("max-age=99999999999999999999999")).maxAge());
+        Assert.assertEquals(CacheControl.MAX_DELTA_SECONDS, CacheControl.parseSeconds("2147483649"));
+    }
+
+    @Test
+    public void testMultipleValues() {
+        CacheControl result = CacheControl.of(Arrays.asList("No-Cache", "max-age=10", "max-age=5"));
+        Assert.assertTrue(result.isNoCache());
+        Assert.assertEquals(OptionalLong.of(5), result.maxAge());
+    }
+
+    @Test
+    public void testNoStore() {
+        CacheControl result = CacheControl.of(Arrays.asList("no-store"));
+        Assert.assertTrue(result.isNoStore());
+    }
+}
@@ -0,0 +1,64 @@
+package com.apicatalog.jsonld.json;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JsonMapBuilderTest {
+
+    @Test
+    public void testAddValue() {
+
+        final JsonValue[] values = {
+                Json.createValue("a"),
+                Json.createArrayBuilder().add("b").add("c").build(),
+                Json.createObjectBuilder().add("@id", "d").build(),
+                JsonValue.EMPTY_JSON_ARRAY
+        };
+
+        for (final boolean asArray : new boolean[] { true, false }) {
+
+            final Map<String, JsonValue> expected = new LinkedHashMap<>();
+            final JsonMapBuilder builder = JsonMapBuilder.create();
+
+            for (final JsonValue value : values) {
+                JsonUtils.addValue(expected, "key", value, asArray);
+                builder.add("key", value, asArray);
+
+                JsonUtils.addValue(expected, "other", value, !asArray);
+                builder.add("other", value, !asArray);
+            }
+
+            Assert.assertEquals(JsonUtils.toJsonObject(expected), builder.build());
+        }
+    }
+
+    @Test
+    public void testNestedMap() {
+
+        final JsonMapBuilder builder = JsonMapBuilder.create(Json.createObjectBuilder()
+                                                                .add("@id", "a")
+                                                                .add("nest", Json.createObjectBuilder().add("x", 1))
+                                                                .build());
+
+        builder.getMapBuilder("nest").add("x", Json.createValue(2), false);
+        builder.getMapBuilder("nest").add("y", Json.createValue(3), true);
+        builder.getMapBuilder("map").add("en", Json.createValue("hello"), false);
+
+        final JsonObject expected = Json.createObjectBuilder()
+                                        .add("@id", "a")
+                                        .add("nest", Json.createObjectBuilder()
+                                                        .add("x", Json.createArrayBuilder().add(1).add(2))
+                                                        .add("y", Json.createArrayBuilder().add(3)))
+                                        .add("map", Json.createObjectBuilder().add("en", "hello"))
+                                        .build();
+
+        Assert.assertEquals(expected, builder.build());
+    }
+}
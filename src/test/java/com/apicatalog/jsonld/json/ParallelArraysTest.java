@@ -0,0 +1,66 @@
+package com.apicatalog.jsonld.json;
+
+import java.util.concurrent.ForkJoinPool;
+
+import javax.json.Json;
+import javax.json.JsonNumber;
+import javax.json.JsonValue;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdErrorCode;
+
+public class ParallelArraysTest {
+
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testOrder() throws JsonLdError {
+
+        final JsonValue[] values = ParallelArrays.map(pool, 3, 100, Json::createValue);
+
+        Assert.assertEquals(100, values.length);
+
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals(i, ((JsonNumber) values[i]).intValue());
+        }
+    }
+
+    @Test
+    public void testNested() throws JsonLdError {
+
+        final JsonValue[] values = ParallelArrays.map(pool, 1, 10, index -> ParallelArrays.map(pool, 1, index, Json::createValue).length > 0
+                                                                                ? Json.createValue(index)
+                                                                                : JsonValue.NULL);
+
+        Assert.assertEquals(JsonValue.NULL, values[0]);
+        Assert.assertEquals(Json.createValue(9), values[9]);
+    }
+
+    @Test
+    public void testError() {
+
+        final JsonLdError error = Assert.assertThrows(JsonLdError.class, () -> ParallelArrays.map(pool, 1, 100, index -> {
+            if (index == 42) {
+                throw new JsonLdError(JsonLdErrorCode.INVALID_KEYWORD_ID_VALUE);
+            }
+            return JsonValue.NULL;
+        }));
+
+        Assert.assertEquals(JsonLdErrorCode.INVALID_KEYWORD_ID_VALUE, error.getCode());
+    }
+}
@@ -0,0 +1,256 @@
+package com.apicatalog.jsonld.loader;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.json.JsonValue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdErrorCode;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+
+public class CoalescingLoaderTest {
+
+    private static final int REQUESTS = 8;
+    
+    @Test
+    public void testConcurrentLoads() throws Exception {
+        
+        final BlockingLoader blocking = new BlockingLoader(null);
+        
+        final List<CompletableFuture<Document>> futures = loadConcurrently(new CoalescingLoader(blocking), blocking);
+
+        Assert.assertEquals(1, blocking.count.get());
+        
+        for (final CompletableFuture<Document> future : futures) {
+            Assert.assertSame(futures.get(0).get(5, TimeUnit.SECONDS), future.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testConcurrentFailure() throws Exception {
+        
+        final BlockingLoader blocking = new BlockingLoader(new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED));
+        
+        final List<CompletableFuture<Document>> futures = loadConcurrently(new CoalescingLoader(blocking), blocking);
+
+        Assert.assertEquals(1, blocking.count.get());
+
+        assertFailed(futures, blocking.failure);
+    }
+
+    @Test
+    public void testConcurrentError() throws Exception {
+        
+        final BlockingLoader blocking = new BlockingLoader(new AssertionError());
+        
+        final List<CompletableFuture<Document>> futures = loadConcurrently(new CoalescingLoader(blocking), blocking);
+
+        Assert.assertEquals(1, blocking.count.get());
+
+        assertFailed(futures, blocking.failure);
+    }
+
+    @Test
+    public void testAsyncError() throws Exception {
+        
+        final CoalescingLoader loader = new CoalescingLoader((url, options) -> {
+            throw new AssertionError();
+        });
+        
+        final CompletableFuture<Document> future = loader.loadDocumentAsync(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+        
+        Assert.assertTrue(future.isCompletedExceptionally());
+        
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            Assert.fail("Expected loading to fail.");
+            
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof AssertionError);
+        }
+    }
+
+    @Test
+    public void testAsyncCancel() throws Exception {
+        
+        final CompletableFuture<Document> loading = new CompletableFuture<>();
+        
+        final AtomicInteger count = new AtomicInteger();
+        
+        final CoalescingLoader loader = new CoalescingLoader(new AsyncLoader(loading, count));
+        
+        final CompletableFuture<Document> first = loader.loadDocumentAsync(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+        final CompletableFuture<Document> second = loader.loadDocumentAsync(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+        
+        Assert.assertEquals(1, count.get());
+        
+        // cancelling one request does not cancel the others
+        Assert.assertTrue(first.cancel(true));
+        Assert.assertFalse(second.isDone());
+        
+        final CompletableFuture<Document> third = loader.loadDocumentAsync(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+
+        Assert.assertTrue(third.cancel(true));
+        Assert.assertFalse(second.isDone());
+        Assert.assertEquals(1, count.get());
+
+        final Document document = JsonDocument.of(JsonValue.EMPTY_JSON_OBJECT);
+        
+        loading.complete(document);
+        
+        Assert.assertSame(document, second.get(5, TimeUnit.SECONDS));
+        Assert.assertTrue(first.isCancelled());
+    }
+
+    @Test
+    public void testSequentialLoads() throws JsonLdError {
+        
+        final LRUDocumentCacheTest.CountingLoader counter = new LRUDocumentCacheTest.CountingLoader();
+        
+        final CoalescingLoader loader = new CoalescingLoader(counter);
+        
+        loader.loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+        loader.loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+        
+        // completed requests are not kept
+        Assert.assertEquals(2, counter.count);
+    }
+    
+    private static final void assertFailed(final List<CompletableFuture<Document>> futures, final Throwable failure) throws Exception {
+        for (final CompletableFuture<Document> future : futures) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                Assert.fail("Expected loading to fail.");
+                
+            } catch (ExecutionException e) {
+                Assert.assertSame(failure, e.getCause());
+            }
+        }
+    }
+
+    /**
+     * The first request is loaded by another thread, the others are issued 
+     * while the first one is blocked by the loader, i.e. all of them are pending
+     * when the loader is released.
+     */
+    private static final List<CompletableFuture<Document>> loadConcurrently(final CoalescingLoader loader, final BlockingLoader blocking) throws Exception {
+        
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        
+        try {
+            final List<CompletableFuture<Document>> futures = new ArrayList<>();
+            
+            final CompletableFuture<Document> first = new CompletableFuture<>();
+            
+            executor.execute(() -> {
+                try {
+                    first.complete(loader.loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions()));
+                    
+                } catch (Throwable e) {
+                    first.completeExceptionally(e);
+                }
+            });
+            
+            futures.add(first);
+
+            Assert.assertTrue(blocking.awaitRequest());
+            
+            for (int i = 1; i < REQUESTS; i++) {
+                futures.add(loader.loadDocumentAsync(URI.create("https://example.org/context"), new DocumentLoaderOptions()));
+            }
+            
+            for (final CompletableFuture<Document> future : futures) {
+                Assert.assertFalse(future.isDone());
+            }
+            
+            blocking.release();
+            
+            return futures;
+            
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    static class AsyncLoader implements DocumentLoader, AsyncDocumentLoader {
+
+        final CompletableFuture<Document> loading;
+        
+        final AtomicInteger count;
+        
+        AsyncLoader(CompletableFuture<Document> loading, AtomicInteger count) {
+            this.loading = loading;
+            this.count = count;
+        }
+        
+        @Override
+        public Document loadDocument(URI url, DocumentLoaderOptions options) throws JsonLdError {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Document> loadDocumentAsync(URI url, DocumentLoaderOptions options) {
+            count.incrementAndGet();
+            return loading;
+        }
+    }
+    
+    static class BlockingLoader implements DocumentLoader {
+
+        final AtomicInteger count = new AtomicInteger();
+        
+        final CountDownLatch requested = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        
+        final Throwable failure;
+        
+        BlockingLoader(Throwable failure) {
+            this.failure = failure;
+        }
+        
+        boolean awaitRequest() throws InterruptedException {
+            return requested.await(5, TimeUnit.SECONDS);
+        }
+        
+        void release() {
+            released.countDown();
+        }
+        
+        @Override
+        public Document loadDocument(URI url, DocumentLoaderOptions options) throws JsonLdError {
+            
+            count.incrementAndGet();
+            requested.countDown();
+            
+            try {
+                released.await(5, TimeUnit.SECONDS);
+                
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            
+            if (failure instanceof JsonLdError) {
+                throw (JsonLdError) failure;
+            }
+
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+
+            return JsonDocument.of(JsonValue.EMPTY_JSON_OBJECT);
+        }
+    }
+}
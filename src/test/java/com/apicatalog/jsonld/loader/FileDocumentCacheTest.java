@@ -0,0 +1,113 @@
+package com.apicatalog.jsonld.loader;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import javax.json.Json;
+import javax.json.JsonStructure;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.http.media.MediaType;
+
+public class FileDocumentCacheTest {
+
+    private Path directory;
+    
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("jsonld-cache");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Test
+    public void testRestart() throws JsonLdError {
+        
+        final ContentLoader origin = new ContentLoader();
+        
+        final Document document1 = new FileDocumentCache(origin, directory).loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+
+        Assert.assertEquals(1, origin.count);
+        
+        // a new instance reads the stored document
+        final FileDocumentCache cache = new FileDocumentCache(origin, directory);
+        
+        Assert.assertEquals(1, cache.size());
+        
+        final Document document2 = cache.loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+        
+        Assert.assertEquals(1, origin.count);
+        
+        Assert.assertNotNull(document2);
+        Assert.assertTrue(MediaType.JSON_LD.match(document2.getContentType()));
+        Assert.assertEquals(document1.getDocumentUrl(), document2.getDocumentUrl());
+        Assert.assertEquals(document1.getContextUrl(), document2.getContextUrl());
+        Assert.assertEquals(document1.getJsonContent().get(), document2.getJsonContent().get());
+    }
+
+    @Test
+    public void testOptionsKey() throws JsonLdError {
+        
+        final ContentLoader origin = new ContentLoader();
+        
+        final FileDocumentCache cache = new FileDocumentCache(origin, directory);
+        
+        cache.loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+        cache.loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions().setExtractAllScripts(true));
+        
+        Assert.assertEquals(2, origin.count);
+        Assert.assertEquals(2, new FileDocumentCache(origin, directory).size());
+    }
+
+    @Test
+    public void testClear() throws JsonLdError {
+        
+        final ContentLoader origin = new ContentLoader();
+        
+        final FileDocumentCache cache = new FileDocumentCache(origin, directory);
+        
+        cache.loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+        cache.clear();
+        
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, new FileDocumentCache(origin, directory).size());
+    }
+    
+    static class ContentLoader implements DocumentLoader {
+        
+        int count = 0;
+        
+        @Override
+        public Document loadDocument(URI url, DocumentLoaderOptions options) throws JsonLdError {
+            
+            count++;
+            
+            final JsonStructure content = Json.createObjectBuilder()
+                                            .add("@context", Json.createObjectBuilder()
+                                                    .add("@vocab", "https://example.org/vocab#"))
+                                            .build();
+            
+            final Document document = JsonDocument.of(MediaType.JSON_LD, content);
+            document.setDocumentUrl(URI.create(url.toString() + ".jsonld"));
+            document.setContextUrl(URI.create("https://example.org/linked"));
+            
+            return document;
+        }
+    }
+}
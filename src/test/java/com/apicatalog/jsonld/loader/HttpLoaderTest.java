@@ -0,0 +1,277 @@
+package com.apicatalog.jsonld.loader;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.http.media.MediaType;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+
+public class HttpLoaderTest {
+
+    private static final String CONTENT = "{\"@context\":{\"@vocab\":\"https://example.org/\"}}";
+    
+    @Rule
+    public final WireMockRule wireMockRule = new WireMockRule();
+
+    @Test
+    public void testMaxAge() throws JsonLdError {
+        
+        stubFor(get(urlEqualTo("/context"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/ld+json")
+                        .withHeader("Cache-Control", "max-age=3600")
+                        .withBody(CONTENT)));
+        
+        final HttpLoader loader = newCachingLoader();
+        
+        final Document document1 = loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/context"), new DocumentLoaderOptions());
+        final Document document2 = loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/context"), new DocumentLoaderOptions());
+
+        Assert.assertNotNull(document1);
+        Assert.assertSame(document1, document2);
+        
+        verify(1, getRequestedFor(urlEqualTo("/context")));
+    }
+
+    @Test
+    public void testOversizedLifetime() throws JsonLdError {
+        
+        stubFor(get(urlEqualTo("/max-age"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/ld+json")
+                        .withHeader("Cache-Control", "max-age=99999999999")
+                        .withBody(CONTENT)));
+
+        stubFor(get(urlEqualTo("/expires"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/ld+json")
+                        .withHeader("Expires", "Fri, 31 Dec 9999 23:59:59 GMT")
+                        .withBody(CONTENT)));
+        
+        final HttpLoader loader = newCachingLoader();
+        
+        for (final String path : Arrays.asList("/max-age", "/expires")) {
+
+            final Document document1 = loader.loadDocument(URI.create(wireMockRule.baseUrl() + path), new DocumentLoaderOptions());
+            final Document document2 = loader.loadDocument(URI.create(wireMockRule.baseUrl() + path), new DocumentLoaderOptions());
+
+            Assert.assertSame(document1, document2);
+            
+            verify(1, getRequestedFor(urlEqualTo(path)));
+        }
+    }
+
+    @Test
+    public void testNoStore() throws JsonLdError {
+        
+        stubFor(get(urlEqualTo("/context"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/ld+json")
+                        .withHeader("Cache-Control", "no-store, max-age=3600")
+                        .withHeader("ETag", "\"v1\"")
+                        .withBody(CONTENT)));
+        
+        final HttpLoader loader = newCachingLoader();
+        
+        loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/context"), new DocumentLoaderOptions());
+        loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/context"), new DocumentLoaderOptions());
+
+        verify(2, getRequestedFor(urlEqualTo("/context")));
+    }
+
+    @Test
+    public void testRevalidation() throws JsonLdError {
+        
+        stubFor(get(urlEqualTo("/context"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/ld+json")
+                        .withHeader("Cache-Control", "no-cache")
+                        .withHeader("ETag", "\"v1\"")
+                        .withBody(CONTENT)));
+
+        stubFor(get(urlEqualTo("/context"))
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse()
+                        .withStatus(304)
+                        .withHeader("ETag", "\"v1\"")));
+
+        final HttpLoader loader = newCachingLoader();
+        
+        final Document document1 = loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/context"), new DocumentLoaderOptions());
+        final Document document2 = loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/context"), new DocumentLoaderOptions());
+
+        Assert.assertNotNull(document1);
+        Assert.assertSame(document1, document2);
+        
+        verify(2, getRequestedFor(urlEqualTo("/context")));
+        verify(1, getRequestedFor(urlEqualTo("/context")).withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    public void testNoCacheByDefault() throws JsonLdError {
+        
+        stubFor(get(urlEqualTo("/context"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/ld+json")
+                        .withHeader("Cache-Control", "max-age=3600")
+                        .withBody(CONTENT)));
+        
+        final HttpLoader loader = new HttpLoader(HttpClient.newHttpClient());
+        
+        loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/context"), new DocumentLoaderOptions());
+        loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/context"), new DocumentLoaderOptions());
+
+        verify(2, getRequestedFor(urlEqualTo("/context")));
+    }
+    
+    @Test
+    public void testPermanentRedirect() throws JsonLdError {
+        
+        stubFor(get(urlEqualTo("/moved"))
+                .willReturn(aResponse()
+                        .withStatus(301)
+                        .withHeader("Location", "/context")));
+
+        stubFor(get(urlEqualTo("/temporary"))
+                .willReturn(aResponse()
+                        .withStatus(307)
+                        .withHeader("Location", "/context")));
+
+        stubFor(get(urlEqualTo("/context"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/ld+json")
+                        .withHeader("Cache-Control", "max-age=3600")
+                        .withBody(CONTENT)));
+        
+        final HttpLoader loader = newCachingLoader();
+        
+        final Document document1 = loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/moved"), new DocumentLoaderOptions());
+        final Document document2 = loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/moved"), new DocumentLoaderOptions());
+
+        loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/temporary"), new DocumentLoaderOptions());
+        loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/temporary"), new DocumentLoaderOptions());
+
+        Assert.assertNotNull(document1);
+        Assert.assertSame(document1, document2);
+        Assert.assertEquals(URI.create(wireMockRule.baseUrl() + "/context"), document2.getDocumentUrl());
+        
+        verify(1, getRequestedFor(urlEqualTo("/moved")));
+        verify(2, getRequestedFor(urlEqualTo("/temporary")));
+        verify(1, getRequestedFor(urlEqualTo("/context")));
+    }
+
+    @Test
+    public void testRedirectNoStore() throws JsonLdError {
+        
+        stubFor(get(urlEqualTo("/moved"))
+                .willReturn(aResponse()
+                        .withStatus(308)
+                        .withHeader("Cache-Control", "no-store")
+                        .withHeader("Location", "/context")));
+
+        stubFor(get(urlEqualTo("/context"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/ld+json")
+                        .withHeader("Cache-Control", "max-age=3600")
+                        .withBody(CONTENT)));
+        
+        final HttpLoader loader = newCachingLoader();
+        
+        loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/moved"), new DocumentLoaderOptions());
+        loader.loadDocument(URI.create(wireMockRule.baseUrl() + "/moved"), new DocumentLoaderOptions());
+
+        verify(2, getRequestedFor(urlEqualTo("/moved")));
+        verify(1, getRequestedFor(urlEqualTo("/context")));
+    }
+
+    @Test
+    public void testAsync() throws InterruptedException, ExecutionException {
+        
+        stubFor(get(urlEqualTo("/redirect"))
+                .willReturn(aResponse()
+                        .withStatus(302)
+                        .withHeader("Location", "/context")));
+
+        stubFor(get(urlEqualTo("/context"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/ld+json")
+                        .withBody(CONTENT)));
+        
+        final Document document = new HttpLoader(HttpClient.newHttpClient())
+                                        .loadDocumentAsync(URI.create(wireMockRule.baseUrl() + "/redirect"), new DocumentLoaderOptions())
+                                        .get();
+
+        Assert.assertNotNull(document);
+        Assert.assertTrue(MediaType.JSON_LD.match(document.getContentType()));
+        Assert.assertEquals(URI.create(wireMockRule.baseUrl() + "/context"), document.getDocumentUrl());
+        Assert.assertTrue(document.getJsonContent().isPresent());
+    }
+
+    @Test
+    public void testAsyncFailure() throws InterruptedException {
+        
+        stubFor(get(urlEqualTo("/missing"))
+                .willReturn(aResponse()
+                        .withStatus(404)));
+        
+        try {
+            new HttpLoader(HttpClient.newHttpClient())
+                    .loadDocumentAsync(URI.create(wireMockRule.baseUrl() + "/missing"), new DocumentLoaderOptions())
+                    .get();
+            
+            Assert.fail("Expected loading to fail.");
+            
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof JsonLdError);
+        }
+    }
+    
+    @Test
+    public void testAsyncInvalidRedirect() throws InterruptedException {
+        
+        stubFor(get(urlEqualTo("/redirect"))
+                .willReturn(aResponse()
+                        .withStatus(302)
+                        .withHeader("Location", "http://[invalid")));
+        
+        try {
+            new HttpLoader(HttpClient.newHttpClient())
+                    .loadDocumentAsync(URI.create(wireMockRule.baseUrl() + "/redirect"), new DocumentLoaderOptions())
+                    .get();
+            
+            Assert.fail("Expected loading to fail.");
+            
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof JsonLdError);
+        }
+    }
+    
+    private static final HttpLoader newCachingLoader() {
+        return new HttpLoader(HttpClient.newHttpClient(), HttpLoader.MAX_REDIRECTIONS, 10);
+    }
+}
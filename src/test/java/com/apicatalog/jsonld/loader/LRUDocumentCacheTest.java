@@ -0,0 +1,135 @@
+package com.apicatalog.jsonld.loader;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.json.JsonValue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.http.ProfileConstants;
+
+public class LRUDocumentCacheTest {
+
+    @Test
+    public void testHit() throws JsonLdError {
+        
+        final CountingLoader counter = new CountingLoader();
+        
+        final LRUDocumentCache cache = new LRUDocumentCache(counter, 10);
+        
+        final Document document1 = cache.loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+        final Document document2 = cache.loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+        
+        Assert.assertNotNull(document1);
+        Assert.assertSame(document1, document2);
+        Assert.assertEquals(1, counter.count);
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testOptionsKey() throws JsonLdError {
+        
+        final CountingLoader counter = new CountingLoader();
+        
+        final LRUDocumentCache cache = new LRUDocumentCache(counter, 10);
+        
+        final DocumentLoaderOptions contextOptions = new DocumentLoaderOptions();
+        contextOptions.setProfile(ProfileConstants.CONTEXT);
+        contextOptions.setRequestProfile(Arrays.asList(ProfileConstants.CONTEXT));
+        
+        cache.loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+        cache.loadDocument(URI.create("https://example.org/context"), contextOptions);
+        cache.loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions().setExtractAllScripts(true));
+        
+        Assert.assertEquals(3, counter.count);
+        Assert.assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testEviction() throws JsonLdError {
+        
+        final CountingLoader counter = new CountingLoader();
+        
+        final LRUDocumentCache cache = new LRUDocumentCache(counter, 2);
+        
+        cache.loadDocument(URI.create("https://example.org/1"), new DocumentLoaderOptions());
+        cache.loadDocument(URI.create("https://example.org/2"), new DocumentLoaderOptions());
+        cache.loadDocument(URI.create("https://example.org/1"), new DocumentLoaderOptions());
+        cache.loadDocument(URI.create("https://example.org/3"), new DocumentLoaderOptions());
+        
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(3, counter.count);
+
+        // the least recently used document has been evicted
+        cache.loadDocument(URI.create("https://example.org/1"), new DocumentLoaderOptions());
+        Assert.assertEquals(3, counter.count);
+
+        cache.loadDocument(URI.create("https://example.org/2"), new DocumentLoaderOptions());
+        Assert.assertEquals(4, counter.count);
+    }
+
+    @Test
+    public void testExpiration() throws JsonLdError, InterruptedException {
+        
+        final CountingLoader counter = new CountingLoader();
+        
+        final LRUDocumentCache cache = new LRUDocumentCache(counter, 10, Duration.ofMillis(10));
+        
+        cache.loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+        
+        Thread.sleep(50);
+        
+        cache.loadDocument(URI.create("https://example.org/context"), new DocumentLoaderOptions());
+        
+        Assert.assertEquals(2, counter.count);
+        Assert.assertEquals(0, cache.getHitCount());
+    }
+    
+    @Test
+    public void testAsyncExecutor() throws JsonLdError {
+        
+        final CountingLoader counter = new CountingLoader();
+        
+        final LRUDocumentCache cache = new LRUDocumentCache(counter, 10);
+        
+        final AtomicInteger tasks = new AtomicInteger();
+        
+        final Executor executor = task -> {
+            tasks.incrementAndGet();
+            new Thread(task).start();
+        };
+        
+        final Document document1 = cache.loadDocumentAsync(URI.create("https://example.org/context"), new DocumentLoaderOptions(), executor).join();
+        final Document document2 = cache.loadDocumentAsync(URI.create("https://example.org/context"), new DocumentLoaderOptions(), executor).join();
+        
+        Assert.assertNotNull(document1);
+        Assert.assertSame(document1, document2);
+        
+        // the blocking loader is called by the executor, a cached document is returned at once
+        Assert.assertEquals(1, tasks.get());
+        Assert.assertEquals(1, counter.count);
+        Assert.assertEquals(1, cache.getHitCount());
+    }
+    
+    static class CountingLoader implements DocumentLoader {
+
+        int count = 0;
+        
+        @Override
+        public synchronized Document loadDocument(URI url, DocumentLoaderOptions options) throws JsonLdError {
+            count++;
+            final Document document = JsonDocument.of(JsonValue.EMPTY_JSON_OBJECT);
+            document.setDocumentUrl(url);
+            return document;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.apicatalog.jsonld.loader;
+
+import java.io.StringReader;
+import java.net.URI;
+
+import javax.json.JsonArray;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.JsonLd;
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdErrorCode;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.http.media.MediaType;
+import com.apicatalog.jsonld.loader.LRUDocumentCacheTest.CountingLoader;
+
+public class StaticContextLoaderTest {
+
+    private static final DocumentLoader OFFLINE = (url, options) -> {
+        throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Offline, cannot load [" + url + "].");
+    };
+
+    @Test
+    public void testIndex() throws JsonLdError {
+        
+        final CountingLoader counter = new CountingLoader();
+        
+        final StaticContextLoader loader = new StaticContextLoader(counter);
+        
+        Assert.assertTrue(loader.contains("https://example.org/static/context"));
+        
+        final Document document = loader.loadDocument(URI.create("https://example.org/static/context"), new DocumentLoaderOptions());
+        
+        Assert.assertNotNull(document);
+        Assert.assertTrue(MediaType.JSON_LD.match(document.getContentType()));
+        Assert.assertEquals(URI.create("https://example.org/static/context"), document.getDocumentUrl());
+        Assert.assertTrue(document.getJsonContent().isPresent());
+        Assert.assertTrue(document.getJsonContent().get().asJsonObject().containsKey("@context"));
+        Assert.assertEquals(0, counter.count);
+    }
+
+    @Test
+    public void testFallback() throws JsonLdError {
+        
+        final CountingLoader counter = new CountingLoader();
+        
+        final Document document = new StaticContextLoader(counter).loadDocument(URI.create("https://example.org/other"), new DocumentLoaderOptions());
+        
+        Assert.assertNotNull(document);
+        Assert.assertEquals(1, counter.count);
+    }
+
+    @Test
+    public void testSharedContent() throws JsonLdError {
+        
+        final StaticContextLoader loader = StaticContextLoader
+                                                .empty(new CountingLoader())
+                                                .set("https://example.org/custom", "/com/apicatalog/jsonld/loader/static-context.jsonld");
+        
+        Assert.assertFalse(loader.contains("https://example.org/static/context"));
+        
+        final Document document1 = loader.loadDocument(URI.create("https://example.org/custom"), new DocumentLoaderOptions());
+        final Document document2 = loader.loadDocument(URI.create("https://example.org/custom"), new DocumentLoaderOptions());
+        
+        Assert.assertNotSame(document1, document2);
+        Assert.assertSame(document1.getJsonContent().get(), document2.getJsonContent().get());
+    }
+
+    @Test
+    public void testMissingResource() {
+        
+        final StaticContextLoader loader = StaticContextLoader
+                                                .empty(new CountingLoader())
+                                                .set("https://example.org/missing", "/com/apicatalog/jsonld/loader/missing.jsonld");
+        
+        Assert.assertThrows(JsonLdError.class, () -> loader.loadDocument(URI.create("https://example.org/missing"), new DocumentLoaderOptions()));
+    }
+
+    @Test
+    public void testNoBundledContexts() {
+        
+        final StaticContextLoader loader = new StaticContextLoader(OFFLINE);
+        
+        // published contexts are never replaced unless registered by an application
+        Assert.assertFalse(loader.contains("https://www.w3.org/2018/credentials/v1"));
+        Assert.assertFalse(loader.contains("https://www.w3.org/ns/did/v1"));
+        
+        Assert.assertThrows(JsonLdError.class, () -> loader.loadDocument(URI.create("https://www.w3.org/2018/credentials/v1"), new DocumentLoaderOptions()));
+    }
+
+    @Test
+    public void testOfflineExpansion() throws JsonLdError {
+        
+        final Document document = JsonDocument.of(new StringReader(
+                                            "{\"@context\": \"https://example.org/static/context\","
+                                            + "\"name\": \"Alice\","
+                                            + "\"role\": \"Admin\"}"
+                                            ));
+        
+        final JsonArray expanded = JsonLd.expand(document).loader(new StaticContextLoader(OFFLINE)).get();
+        
+        Assert.assertEquals(1, expanded.size());
+        Assert.assertTrue(expanded.getJsonObject(0).containsKey("http://schema.org/name"));
+        Assert.assertTrue(expanded.getJsonObject(0).containsKey("https://example.org/static#role"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.apicatalog.jsonld.processor;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.stream.JsonParser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.context.PreparedContext;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.rdf.RdfDataset;
+
+public class ChunkedProcessorTest {
+
+    private static final String CONTEXT = "{\"@vocab\": \"https://example.org/\"}";
+
+    private static final String INPUT = "{\"@context\": " + CONTEXT + ", \"@graph\": ["
+            + "{\"@id\": \"https://example.org/a\", \"name\": \"A\", \"knows\": {\"@id\": \"_:x\"}},"
+            + "{\"@id\": \"https://example.org/b\", \"name\": \"B\"},"
+            + "{\"@id\": \"https://example.org/c\", \"name\": \"C\"},"
+            + "{\"@id\": \"_:x\", \"name\": \"X\"},"
+            + "{\"name\": \"Anonymous\"}"
+            + "]}";
+
+    @Test
+    public void testExpand() throws JsonLdError {
+
+        final List<JsonArray> batches = new ArrayList<>();
+
+        ChunkedProcessor.expand(parser(INPUT), new JsonLdOptions(), 2, batches::add);
+
+        Assert.assertEquals(3, batches.size());
+        Assert.assertEquals(1, batches.get(2).size());
+
+        final JsonArrayBuilder expanded = Json.createArrayBuilder();
+
+        batches.forEach(batch -> batch.forEach(expanded::add));
+
+        Assert.assertEquals(ExpansionProcessor.expand(JsonDocument.of(new StringReader(INPUT)), new JsonLdOptions(), false), expanded.build());
+    }
+
+    @Test
+    public void testToRdf() throws JsonLdError {
+
+        final List<RdfDataset> datasets = new ArrayList<>();
+
+        ChunkedProcessor.toRdf(parser(INPUT), new JsonLdOptions(), 3, datasets::add);
+
+        Assert.assertEquals(2, datasets.size());
+
+        final RdfDataset expected = ToRdfProcessor.toRdf(JsonDocument.of(new StringReader(INPUT)), new JsonLdOptions());
+
+        Assert.assertEquals(expected.size(), datasets.get(0).size() + datasets.get(1).size());
+
+        // a blank node referenced in the first batch and described in the second one
+        Assert.assertTrue(datasets.get(0).toList().stream().anyMatch(quad -> "_:b0".equals(quad.getObject().toString())));
+        Assert.assertTrue(datasets.get(1).toList().stream().anyMatch(quad -> "_:b0".equals(quad.getSubject().toString())));
+    }
+
+    @Test
+    public void testCompact() throws JsonLdError {
+
+        final List<JsonArray> batches = new ArrayList<>();
+
+        final PreparedContext context = PreparedContext.of(JsonDocument.of(new StringReader(CONTEXT)), new JsonLdOptions());
+
+        ChunkedProcessor.compact(parser(INPUT), context, new JsonLdOptions(), 5, batches::add);
+
+        Assert.assertEquals(1, batches.size());
+        Assert.assertEquals(5, batches.get(0).size());
+        Assert.assertEquals("A", batches.get(0).getJsonObject(0).getString("name"));
+        Assert.assertEquals("https://example.org/a", batches.get(0).getJsonObject(0).getString("@id"));
+    }
+
+    @Test
+    public void testInvalidBatchSize() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> ChunkedProcessor.expand(parser(INPUT), new JsonLdOptions(), 0, batch -> { }));
+    }
+
+    private static final JsonParser parser(final String json) {
+        return Json.createParser(new StringReader(json));
+    }
+}
@@ -0,0 +1,84 @@
+package com.apicatalog.jsonld.processor;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.stream.JsonGenerator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.context.PreparedContext;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+
+public class CompactionWriterTest {
+
+    private static final String CONTEXT = "{\"@context\": {\"@vocab\": \"https://example.org/\", \"graph\": \"@graph\"}}";
+
+    @Test
+    public void testGraph() throws JsonLdError {
+        assertWritten("[{\"@id\": \"https://example.org/a\", \"https://example.org/name\": \"A\"},"
+                    + "{\"@id\": \"https://example.org/b\", \"https://example.org/name\": \"B\"},"
+                    + "{\"https://example.org/name\": \"C\"}]",
+                    new JsonLdOptions());
+    }
+
+    @Test
+    public void testSingleNode() throws JsonLdError {
+        assertWritten("[{\"@id\": \"https://example.org/a\", \"https://example.org/name\": \"A\"}]", new JsonLdOptions());
+    }
+
+    @Test
+    public void testSingleNodeNotCompacted() throws JsonLdError {
+
+        final JsonLdOptions options = new JsonLdOptions();
+        options.setCompactArrays(false);
+
+        assertWritten("[{\"@id\": \"https://example.org/a\", \"https://example.org/name\": \"A\"}]", options);
+    }
+
+    @Test
+    public void testEmpty() throws JsonLdError {
+        assertWritten("{}", new JsonLdOptions());
+    }
+
+    @Test
+    public void testContextFirst() throws JsonLdError {
+
+        final String written = write("[{\"@id\": \"https://example.org/a\"}, {\"@id\": \"https://example.org/b\"}]", new JsonLdOptions());
+
+        Assert.assertTrue(written.startsWith("{\"@context\":"));
+        Assert.assertTrue(written.contains("\"graph\":["));
+    }
+
+    private static final void assertWritten(final String input, final JsonLdOptions options) throws JsonLdError {
+
+        final JsonObject expected = CompactionProcessor.compact(document(input), context(options), options);
+
+        Assert.assertEquals(expected, Json.createReader(new StringReader(write(input, options))).readObject());
+    }
+
+    private static final String write(final String input, final JsonLdOptions options) throws JsonLdError {
+
+        final StringWriter writer = new StringWriter();
+
+        try (final JsonGenerator generator = Json.createGenerator(writer)) {
+            CompactionProcessor.compact(document(input), context(options), options, generator);
+        }
+
+        return writer.toString();
+    }
+
+    private static final PreparedContext context(final JsonLdOptions options) throws JsonLdError {
+        return PreparedContext.of(document(CONTEXT), options);
+    }
+
+    private static final Document document(final String json) throws JsonLdError {
+        return JsonDocument.of(new StringReader(json));
+    }
+}
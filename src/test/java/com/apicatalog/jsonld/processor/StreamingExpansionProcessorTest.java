@@ -0,0 +1,105 @@
+package com.apicatalog.jsonld.processor;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonStructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.apicatalog.jsonld.api.JsonLdError;
+import com.apicatalog.jsonld.api.JsonLdErrorCode;
+import com.apicatalog.jsonld.api.JsonLdOptions;
+import com.apicatalog.jsonld.document.JsonDocument;
+
+public class StreamingExpansionProcessorTest {
+
+    private static final String CONTEXT = "{\"@vocab\": \"https://example.org/\", \"graph\": \"@graph\"}";
+
+    @Test
+    public void testTopLevelArray() throws JsonLdError {
+        assertExpansion("["
+                + "{\"@context\": " + CONTEXT + ", \"@id\": \"https://example.org/a\", \"name\": \"A\"},"
+                + "\"free-floating\","
+                + "[{\"@id\": \"https://example.org/b\", \"https://example.org/name\": \"B\"}]"
+                + "]");
+    }
+
+    @Test
+    public void testTopLevelGraph() throws JsonLdError {
+        assertExpansion("{"
+                + "\"@context\": " + CONTEXT + ","
+                + "\"graph\": ["
+                + "{\"@id\": \"https://example.org/a\", \"name\": \"A\"},"
+                + "{\"@type\": \"Person\", \"@context\": {\"name\": \"https://example.org/fullName\"}, \"name\": \"B\"},"
+                + "{\"@value\": \"dropped\"}"
+                + "]}");
+    }
+
+    @Test
+    public void testBufferedObject() throws JsonLdError {
+        assertExpansion("{"
+                + "\"@id\": \"https://example.org/g\","
+                + "\"@context\": " + CONTEXT + ","
+                + "\"@graph\": [{\"@id\": \"https://example.org/a\", \"name\": \"A\"}]"
+                + "}");
+    }
+
+    @Test
+    public void testContextAfterGraph() throws JsonLdError {
+        assertExpansion("{"
+                + "\"@graph\": [{\"@id\": \"https://example.org/a\", \"name\": \"A\"}],"
+                + "\"@context\": " + CONTEXT
+                + "}");
+    }
+
+    @Test
+    public void testIdAfterGraph() throws JsonLdError {
+
+        final String json = "{"
+                + "\"@graph\": [{\"@id\": \"https://example.org/a\", \"https://example.org/name\": \"A\"}],"
+                + "\"@id\": \"https://example.org/g\""
+                + "}";
+
+        assertExpansion(json);
+
+        // a single named graph
+        Assert.assertEquals(1, stream(json).size());
+        Assert.assertEquals("https://example.org/g", stream(json).get(0).getString("@id"));
+    }
+
+    @Test
+    public void testEntryAfterGraph() {
+
+        final JsonLdError error = Assert.assertThrows(JsonLdError.class, () -> stream("{"
+                                        + "\"@context\": " + CONTEXT + ","
+                                        + "\"@graph\": [{\"@id\": \"https://example.org/a\", \"name\": \"A\"}],"
+                                        + "\"@id\": \"https://example.org/g\""
+                                        + "}"));
+
+        Assert.assertEquals(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, error.getCode());
+    }
+
+    private static final void assertExpansion(final String json) throws JsonLdError {
+
+        final JsonStructure document = Json.createReader(new StringReader(json)).read();
+
+        final JsonArray expected = ExpansionProcessor.expand(JsonDocument.of(document), new JsonLdOptions(), false);
+
+        Assert.assertEquals(expected, Json.createArrayBuilder(stream(json)).build());
+    }
+
+    private static final List<JsonObject> stream(final String json) throws JsonLdError {
+
+        final List<JsonObject> result = new ArrayList<>();
+
+        StreamingExpansionProcessor.expand(new StringReader(json), new JsonLdOptions(), result::add);
+
+        return result;
+    }
+}
@@ -57,6 +57,9 @@ public class UriResolverTest {
         data.add(new Object[] {URI.create("http://a/b/c/d;p?q"), "../../", "http://a/"});
         data.add(new Object[] {URI.create("http://a/b/c/d;p?q"), "../../g", "http://a/g"});
         data.add(new Object[] {URI.create("http://a/"), "", "http://a/"});
+        data.add(new Object[] {URI.create("http://a/b/c/d;p?q"), "https://example.org/x/y?z#f", "https://example.org/x/y?z#f"});
+        data.add(new Object[] {URI.create("http://a/b/c/d;p?q"), "https://example.org/x/../y", "https://example.org/y"});
+        data.add(new Object[] {URI.create("http://a/b/c/d;p?q"), "urn:isbn:0451450523", "urn:isbn:0451450523"});
         data.add(new Object[] {URI.create("http://a/b/c"), "/b", "http://a/b"});
         
         return data;
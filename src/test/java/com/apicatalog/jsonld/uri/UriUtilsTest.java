@@ -0,0 +1,64 @@
+package com.apicatalog.jsonld.uri;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class UriUtilsTest {
+
+    @Parameterized.Parameter(0)
+    public String value;
+
+    @Parameterized.Parameter(1)
+    public boolean absolute;
+
+    @Parameterized.Parameter(2)
+    public boolean uri;
+
+    @Test
+    public void testIsAbsoluteUri() {
+        Assert.assertEquals(absolute, UriUtils.isAbsoluteUri(value));
+        Assert.assertEquals(!absolute, UriUtils.isNotAbsoluteUri(value));
+    }
+
+    @Test
+    public void testIsUri() {
+        Assert.assertEquals(uri, UriUtils.isURI(value));
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        List<Object[]> data = new ArrayList<>();
+
+        data.add(new Object[] {"https://example.org/a/b?c=d#e", true, true});
+        data.add(new Object[] {"urn:isbn:0451450523", true, true});
+        data.add(new Object[] {"mailto:alice@example.org", true, true});
+        data.add(new Object[] {"file:///etc/hosts", true, true});
+        data.add(new Object[] {"http://[::1]/a", true, true});
+        data.add(new Object[] {"http://example.org/%C3%A9", true, true});
+        data.add(new Object[] {"http://example.org/\u00e9", true, true});
+        data.add(new Object[] {"ex:name", true, true});
+        data.add(new Object[] {"_:b0", false, false});
+        data.add(new Object[] {"a/b/c", false, true});
+        data.add(new Object[] {"#fragment", false, true});
+        data.add(new Object[] {"?query", false, true});
+        data.add(new Object[] {"//example.org/a", false, true});
+        data.add(new Object[] {"", false, false});
+        data.add(new Object[] {"http:", false, true});
+        data.add(new Object[] {"1http://example.org", false, false});
+        data.add(new Object[] {":name", false, false});
+        data.add(new Object[] {"http://example.org/a b", false, false});
+        data.add(new Object[] {"http://example.org/a#b#c", false, false});
+        data.add(new Object[] {"http://example.org/%zz", false, false});
+        data.add(new Object[] {"@keyword", false, false});
+        data.add(new Object[] {" https://example.org/ ", false, true});
+
+        return data;
+    }
+}